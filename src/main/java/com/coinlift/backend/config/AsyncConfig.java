@@ -1,11 +1,18 @@
 package com.coinlift.backend.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Configuration
 @EnableAsync
@@ -23,4 +30,57 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Dedicated pool for fetching S3 objects concurrently while a page is assembled. It is bounded so that a burst
+     * of feed requests cannot open an unlimited number of S3 connections; fetches rejected by a full queue are
+     * treated like fetches that missed their deadline.
+     */
+    @Bean(name = "s3FetchExecutor")
+    public ThreadPoolTaskExecutor s3FetchExecutor(@Value("${aws.s3.fetch.pool-size}") int poolSize,
+                                                  @Value("${aws.s3.fetch.queue-capacity}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("s3-fetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool that decodes, resizes and uploads post images after the post has been saved.
+     * <p>
+     * Unless {@code images.processing.pool-size} is set, the number of workers is derived from the available cores
+     * and from how many images fit into half of the maximum heap at {@code images.processing.heap-per-task} each.
+     * When every worker is busy and the queue is full, new images are rejected so that uploads fail fast with 503
+     * instead of tying up request threads. Queue depth and rejections are published as
+     * {@code images.processing.queue} and {@code images.processing.rejected}.
+     */
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor(@Value("${images.processing.pool-size}") int poolSize,
+                                                          @Value("${images.processing.queue-capacity}") int queueCapacity,
+                                                          @Value("${images.processing.heap-per-task}") DataSize heapPerTask,
+                                                          MeterRegistry meterRegistry) {
+        if (poolSize <= 0) {
+            long heapTasks = Runtime.getRuntime().maxMemory() / 2 / heapPerTask.toBytes();
+            poolSize = (int) Math.max(1, Math.min(NUM_THREADS, heapTasks));
+        }
+        Counter rejected = meterRegistry.counter("images.processing.rejected");
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Image processing queue is full");
+        });
+        executor.initialize();
+
+        Gauge.builder("images.processing.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        return executor;
+    }
 }
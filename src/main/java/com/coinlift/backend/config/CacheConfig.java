@@ -0,0 +1,36 @@
+package com.coinlift.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LATEST_POSTS = "latestPosts";
+
+    @Value("${cache.latest-posts.ttl}")
+    private Duration latestPostsTtl;
+
+    /**
+     * In-process caches backed by Caffeine. Statistics are recorded so that hit and miss counts are
+     * published through the actuator {@code cache.gets} metric.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(LATEST_POSTS, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(latestPostsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
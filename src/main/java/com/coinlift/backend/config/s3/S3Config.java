@@ -3,8 +3,15 @@ package com.coinlift.backend.config.s3;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
 
 @Configuration
 public class S3Config {
@@ -12,11 +19,69 @@ public class S3Config {
     @Value("${aws.region}")
     private String awsRegion;
 
+    /**
+     * Optional endpoint of an S3-compatible store such as MinIO, addressed with path-style URLs.
+     */
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.client.max-connections}")
+    private int maxConnections;
+
+    @Value("${aws.s3.client.connection-timeout}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.s3.client.connection-acquisition-timeout}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.s3.client.socket-timeout}")
+    private Duration socketTimeout;
+
+    @Value("${aws.s3.client.api-call-attempt-timeout}")
+    private Duration apiCallAttemptTimeout;
+
+    @Value("${aws.s3.client.api-call-timeout}")
+    private Duration apiCallTimeout;
+
+    /**
+     * S3 client with a bounded connection pool and timeouts on every stage of a call, so that a slow or stuck S3
+     * request fails instead of holding a thread indefinitely. The attempt timeout bounds each try, the call timeout
+     * bounds all retries together.
+     */
     @Bean
     public S3Client s3Client() {
-        return S3Client.builder()
+        var builder = S3Client.builder()
                 .region(Region.of(awsRegion))
-                .build();
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(connectionTimeout)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .socketTimeout(socketTimeout))
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                        .apiCallTimeout(apiCallTimeout)
+                        .build());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(pathStyle());
+        }
+        return builder.build();
     }
 
+    @Bean
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(awsRegion));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(pathStyle());
+        }
+        return builder.build();
+    }
+
+    private S3Configuration pathStyle() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(true)
+                .build();
+    }
 }
@@ -0,0 +1,41 @@
+package com.coinlift.backend.config.s3;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "aws.s3.presign")
+public class S3Presign {
+
+    private boolean enabled;
+
+    private Duration downloadTtl;
+
+    private Duration uploadTtl;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDownloadTtl() {
+        return downloadTtl;
+    }
+
+    public void setDownloadTtl(Duration downloadTtl) {
+        this.downloadTtl = downloadTtl;
+    }
+
+    public Duration getUploadTtl() {
+        return uploadTtl;
+    }
+
+    public void setUploadTtl(Duration uploadTtl) {
+        this.uploadTtl = uploadTtl;
+    }
+}
@@ -1,6 +1,7 @@
 package com.coinlift.backend.config.security;
 
 import com.coinlift.backend.config.security.filters.JwtFilter;
+import com.coinlift.backend.entities.user.Role;
 import com.coinlift.backend.services.users.security.UserDetailsServiceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -40,11 +41,14 @@ public class SecurityConfig {
                 .authorizeHttpRequests()
                     .requestMatchers("/api/v1/auth/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/v1/images/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/cryptocurrency/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/users/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/swagger-ui/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "v3/api-docs/**").permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/v1/reports/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                    .requestMatchers("/actuator/**").hasAuthority(Role.ADMIN.name())
                     .anyRequest().authenticated()
                 .and()
                     .sessionManagement()
@@ -2,6 +2,8 @@ package com.coinlift.backend.controllers;
 
 import com.coinlift.backend.dtos.comments.CommentRequestDto;
 import com.coinlift.backend.dtos.comments.CommentResponseDto;
+import com.coinlift.backend.dtos.comments.CommentThreadDto;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.services.comments.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -31,24 +33,45 @@ public class CommentController {
     }
 
     /**
-     * Endpoint to fetch all comments of a specific post.
+     * Endpoint to fetch a page of the top-level comments of a specific post, newest first, using cursor pagination.
      *
-     * @param uuid The unique ID of the post to fetch comments for.
-     * @param page The page number for pagination (default: 0).
-     * @param size The number of comments per page (default: 20).
-     * @return A response entity containing the list of comments for the post.
+     * @param uuid   The unique ID of the post to fetch comments for.
+     * @param cursor The cursor returned with the previous page (default: first page).
+     * @param size   The number of comments per page (default: 10).
+     * @return A response entity containing a CursorPageDto of the comments for the post.
      */
-    @Operation(summary = "Fetch all comments of a specific post")
+    @Operation(summary = "Fetch a page of the comments of a specific post using cursor pagination")
     @ApiResponse(
             responseCode = "200",
             description = "Comments fetched successfully",
-            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CommentResponseDto.class)))
+            content = @Content(schema = @Schema(implementation = CursorPageDto.class))
     )
     @GetMapping("/comments")
-    public ResponseEntity<List<CommentResponseDto>> getAllComments(@PathVariable("postId") UUID uuid,
-                                                                   @RequestParam(name = "page", defaultValue = "0") int page,
-                                                                   @RequestParam(name = "size", defaultValue = "10") int size) {
-        return ResponseEntity.ok(commentService.getComments(uuid, page, size));
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getAllComments(@PathVariable("postId") UUID uuid,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(name = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(commentService.getComments(uuid, cursor, size));
+    }
+
+    /**
+     * Endpoint to fetch the comment thread of a specific post, with replies nested, in a single request.
+     *
+     * @param uuid    The unique ID of the post to fetch the thread for.
+     * @param depth   The number of reply levels to include (default: 3).
+     * @param breadth The number of comments to include per level below the same parent (default: 10).
+     * @return A response entity containing the top-level comments of the post with their replies nested.
+     */
+    @Operation(summary = "Fetch the comment thread of a specific post")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Comment thread fetched successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CommentThreadDto.class)))
+    )
+    @GetMapping("/thread")
+    public ResponseEntity<List<CommentThreadDto>> getThread(@PathVariable("postId") UUID uuid,
+                                                            @RequestParam(name = "depth", defaultValue = "3") int depth,
+                                                            @RequestParam(name = "breadth", defaultValue = "10") int breadth) {
+        return ResponseEntity.ok(commentService.getThread(uuid, depth, breadth));
     }
 
     /**
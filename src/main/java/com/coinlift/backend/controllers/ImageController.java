@@ -0,0 +1,68 @@
+package com.coinlift.backend.controllers;
+
+import com.coinlift.backend.exceptions.ResourceNotFoundException;
+import com.coinlift.backend.services.images.ImageRendition;
+import com.coinlift.backend.services.images.ImageStorageService;
+import com.coinlift.backend.services.s3.StoredObject;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/images")
+@CrossOrigin("*")
+@Tag(name = "Image Controller", description = "APIs related to serving stored images")
+public class ImageController {
+
+    // The content behind a hash never changes, so browsers and CDNs may keep it for as long as they like
+    private static final String IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().getHeaderValue() + ", immutable";
+
+    private final ImageStorageService imageStorageService;
+
+    public ImageController(ImageStorageService imageStorageService) {
+        this.imageStorageService = imageStorageService;
+    }
+
+    /**
+     * Get a rendition of a stored image by its content hash.
+     *
+     * @param hash      The content hash of the image.
+     * @param rendition The name of the rendition (thumbnail, feed or full).
+     * @return A ResponseEntity streaming the image and HttpStatus OK if successful.
+     */
+    @Operation(summary = "Get a rendition of a stored image by its content hash")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Image fetched successfully"),
+            @ApiResponse(responseCode = "404", description = "Image or rendition not found")
+    })
+    @GetMapping("/{hash}/{rendition}")
+    public ResponseEntity<Resource> getImage(@PathVariable(name = "hash") String hash,
+                                             @PathVariable(name = "rendition") String rendition) {
+        ImageRendition imageRendition = ImageRendition.fromName(rendition);
+        if (imageRendition == null) {
+            throw new ResourceNotFoundException("image rendition [%s] not found".formatted(rendition));
+        }
+
+        StoredObject image = imageStorageService.getImage(hash, imageRendition);
+
+        MediaType contentType = image.contentType() != null && image.contentType().startsWith("image/")
+                ? MediaType.parseMediaType(image.contentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        return ResponseEntity.ok()
+                .eTag(image.eTag())
+                .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL)
+                .contentType(contentType)
+                .body(image.content());
+    }
+}
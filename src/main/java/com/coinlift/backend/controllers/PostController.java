@@ -1,9 +1,15 @@
 package com.coinlift.backend.controllers;
 
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.dtos.posts.PostDetailsResponseDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadRequestDto;
 import com.coinlift.backend.dtos.posts.PostRequestDto;
+import com.coinlift.backend.dtos.posts.PostSearchResultDto;
 import com.coinlift.backend.dtos.posts.PostShortResponseDto;
+import com.coinlift.backend.services.images.ImageRendition;
 import com.coinlift.backend.services.posts.PostService;
+import com.coinlift.backend.services.s3.StoredObject;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,14 +17,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -29,6 +38,8 @@ import java.util.UUID;
 @Tag(name = "Post Controller", description = "APIs related to managing posts")
 public class PostController {
 
+    private static final Duration IMAGE_MAX_AGE = Duration.ofDays(7);
+
     private final PostService postService;
 
     public PostController(PostService postService) {
@@ -36,20 +47,39 @@ public class PostController {
     }
 
     /**
-     * Get all posts with pagination support.
+     * Get a page of the global post feed using cursor pagination.
      *
-     * @param page The page number (default: 0).
-     * @param size The number of posts per page (default: 20).
-     * @return A ResponseEntity containing a list of PostDetailsResponseDto objects and HttpStatus OK if successful.
+     * @param cursor The cursor returned with the previous page (default: first page).
+     * @param size   The number of posts per page (default: 15).
+     * @return A ResponseEntity containing a CursorPageDto of PostDetailsResponseDto objects and HttpStatus OK if successful.
      */
-    @Operation(summary = "Get all posts with pagination support")
+    @Operation(summary = "Get a page of the global post feed using cursor pagination")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of posts fetched successfully", content = @Content(schema = @Schema(implementation = PostDetailsResponseDto.class)))
+            @ApiResponse(responseCode = "200", description = "Page of posts fetched successfully", content = @Content(schema = @Schema(implementation = CursorPageDto.class)))
     })
     @GetMapping
-    public ResponseEntity<List<PostDetailsResponseDto>> getAllPosts(@RequestParam(defaultValue = "0") int page,
-                                                                    @RequestParam(defaultValue = "15") int size) {
-        return new ResponseEntity<>(postService.getAllPosts(page, size), HttpStatus.OK);
+    public ResponseEntity<CursorPageDto<PostDetailsResponseDto>> getAllPosts(@RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "15") int size) {
+        return new ResponseEntity<>(postService.getAllPosts(cursor, size), HttpStatus.OK);
+    }
+
+    /**
+     * Search posts by their content using cursor pagination, best matches first.
+     *
+     * @param q      The search query; quoted phrases, "or" and "-word" are supported.
+     * @param cursor The cursor returned with the previous page (default: first page).
+     * @param size   The number of results per page (default: 15).
+     * @return A ResponseEntity containing a CursorPageDto of PostSearchResultDto objects and HttpStatus OK if successful.
+     */
+    @Operation(summary = "Search posts by their content using cursor pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of search results fetched successfully", content = @Content(schema = @Schema(implementation = CursorPageDto.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDto<PostSearchResultDto>> searchPosts(@RequestParam String q,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "15") int size) {
+        return new ResponseEntity<>(postService.searchPosts(q, cursor, size), HttpStatus.OK);
     }
 
     /**
@@ -66,6 +96,24 @@ public class PostController {
         return new ResponseEntity<>(postService.getLatestPosts(), HttpStatus.OK);
     }
 
+    /**
+     * Get a page of posts from the users the current user follows.
+     *
+     * @param cursor The cursor returned with the previous page (default: first page).
+     * @param size   The number of posts per page (default: 15).
+     * @return A ResponseEntity containing a CursorPageDto of PostDetailsResponseDto objects and HttpStatus OK if successful.
+     */
+    @Operation(summary = "Get a page of posts from the users the current user follows")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of posts fetched successfully", content = @Content(schema = @Schema(implementation = CursorPageDto.class))),
+            @ApiResponse(responseCode = "403", description = "User is not authenticated")
+    })
+    @GetMapping("/following")
+    public ResponseEntity<CursorPageDto<PostDetailsResponseDto>> getFollowingPosts(@RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "15") int size) {
+        return new ResponseEntity<>(postService.getFollowingPosts(cursor, size), HttpStatus.OK);
+    }
+
     @GetMapping("/liked")
     public ResponseEntity<List<PostDetailsResponseDto>> getAllLikedPosts() {
         return new ResponseEntity<>(postService.getLikedPosts(), HttpStatus.OK);
@@ -99,6 +147,47 @@ public class PostController {
         return new ResponseEntity<>(postService.createPost(postRequestDto, postImage), HttpStatus.CREATED);
     }
 
+    /**
+     * Start a direct upload of a post image to S3.
+     *
+     * @param uploadRequestDto The content type of the image that will be uploaded.
+     * @return A ResponseEntity containing the PostImageUploadDto with the pre-signed upload URL and HttpStatus CREATED if successful.
+     * If the content type is not an image type, it returns a ResponseEntity with an error message and
+     * HttpStatus UNSUPPORTED_MEDIA_TYPE.
+     */
+    @Operation(summary = "Start a direct upload of a post image to S3")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload started successfully", content = @Content(schema = @Schema(implementation = PostImageUploadDto.class))),
+            @ApiResponse(responseCode = "404", description = "Direct uploads are not enabled"),
+            @ApiResponse(responseCode = "415", description = "Unsupported media type")
+    })
+    @PostMapping("/uploads")
+    public ResponseEntity<?> createImageUpload(@RequestBody @Valid PostImageUploadRequestDto uploadRequestDto) {
+        if (!uploadRequestDto.contentType().startsWith("image/")) {
+            return new ResponseEntity<>("Only image files are allowed!", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+        return new ResponseEntity<>(postService.createImageUpload(uploadRequestDto.contentType()), HttpStatus.CREATED);
+    }
+
+    /**
+     * Create a new post with an image uploaded directly to S3.
+     *
+     * @param uploadId       The ID of the upload the image was sent to.
+     * @param postRequestDto The content of the post.
+     * @return A ResponseEntity containing the UUID of the newly created post and HttpStatus CREATED if successful.
+     */
+    @Operation(summary = "Create a new post with an image uploaded directly to S3")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Post created successfully", content = @Content(schema = @Schema(implementation = UUID.class))),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "404", description = "Upload not found or direct uploads are not enabled")
+    })
+    @PostMapping("/uploads/{uploadId}")
+    public ResponseEntity<UUID> createPostFromUpload(@PathVariable String uploadId,
+                                                     @RequestBody @Valid PostRequestDto postRequestDto) {
+        return new ResponseEntity<>(postService.createPostFromUpload(uploadId, postRequestDto), HttpStatus.CREATED);
+    }
+
     /**
      * Get a post by its UUID with pagination support for comments.
      *
@@ -119,6 +208,39 @@ public class PostController {
         return new ResponseEntity<>(postService.getPostById(uuid, pageable), HttpStatus.OK);
     }
 
+    /**
+     * Stream the image of a post by its UUID.
+     * <p>
+     * Range requests are answered with 206 Partial Content and a matching If-None-Match with 304 Not Modified.
+     *
+     * @param uuid  The UUID of the post whose image is requested.
+     * @param width The optional width the image is displayed at; the smallest rendition at least this wide is served.
+     * @return A ResponseEntity streaming the image bytes with ETag and Cache-Control headers and HttpStatus OK if successful.
+     */
+    @Operation(summary = "Stream the image of a post by its UUID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Post image streamed successfully"),
+            @ApiResponse(responseCode = "206", description = "Requested range of the post image streamed successfully"),
+            @ApiResponse(responseCode = "304", description = "Post image not modified"),
+            @ApiResponse(responseCode = "404", description = "Post or post image not found")
+    })
+    @GetMapping("/{uuid}/image")
+    public ResponseEntity<Resource> getPostImage(@PathVariable(name = "uuid") UUID uuid,
+                                                 @RequestParam(required = false) Integer width) {
+        StoredObject image = postService.getPostImage(uuid, ImageRendition.smallestFitting(width));
+
+        MediaType contentType = image.contentType() != null && image.contentType().startsWith("image/")
+                ? MediaType.parseMediaType(image.contentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        // Content-Length, Accept-Ranges and the conditional and range handling are applied by Spring MVC
+        return ResponseEntity.ok()
+                .eTag(image.eTag())
+                .cacheControl(CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic())
+                .contentType(contentType)
+                .body(image.content());
+    }
+
     /**
      * Remove a post by its UUID.
      *
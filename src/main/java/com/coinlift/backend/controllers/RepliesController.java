@@ -2,6 +2,7 @@ package com.coinlift.backend.controllers;
 
 import com.coinlift.backend.dtos.comments.CommentRequestDto;
 import com.coinlift.backend.dtos.comments.CommentResponseDto;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.services.comments.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +15,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -47,21 +47,21 @@ public class RepliesController {
     }
 
     /**
-     * Get a paginated list of replies for a specific comment.
+     * Get a page of the replies to a specific comment, oldest first, using cursor pagination.
      *
      * @param commentId The unique ID of the comment to fetch replies for.
-     * @param page      The page number for pagination (default: 0).
+     * @param cursor    The cursor returned with the previous page (default: first page).
      * @param size      The number of replies per page (default: 10).
-     * @return A list of {@link CommentResponseDto} representing the replies to the comment.
+     * @return A {@link CursorPageDto} of {@link CommentResponseDto} representing the replies to the comment.
      */
-    @Operation(summary = "Get a paginated list of replies for a specific comment")
+    @Operation(summary = "Get a page of the replies to a specific comment using cursor pagination")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved replies", content = @Content(schema = @Schema(implementation = CommentResponseDto.class)))
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved replies", content = @Content(schema = @Schema(implementation = CursorPageDto.class)))
     })
     @GetMapping("/{commentId}")
-    public ResponseEntity<List<CommentResponseDto>> getReplies(@PathVariable("commentId") UUID commentId,
-                                                               @RequestParam(name = "page", defaultValue = "0") int page,
-                                                               @RequestParam(name = "size", defaultValue = "10") int size) {
-        return ResponseEntity.ok(commentService.getReplies(commentId, page, size));
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getReplies(@PathVariable("commentId") UUID commentId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(name = "size", defaultValue = "10") int size) {
+        return ResponseEntity.ok(commentService.getReplies(commentId, cursor, size));
     }
 }
@@ -0,0 +1,31 @@
+package com.coinlift.backend.dtos.comments;
+
+import com.coinlift.backend.dtos.users.UserMainInfoDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CommentThreadDto(
+
+        @Schema(description = "The unique identifier of the comment.", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID id,
+
+        @Schema(description = "The content of the comment.", example = "This place looks beautiful!")
+        String content,
+
+        @Schema(description = "The date and time when the comment was created.", example = "2023-07-31T12:34:56")
+        long commentTime,
+
+        @Schema(description = "Indicates whether the current user is the creator of the comment.", example = "true")
+        boolean isCommentCreator,
+
+        @Schema(description = "The total number of direct replies, which may be more than the replies included in the thread.", example = "12")
+        int replyCount,
+
+        UserMainInfoDto owner,
+
+        @Schema(description = "The replies to the comment that fit into the requested depth and breadth of the thread.")
+        List<CommentThreadDto> replies
+) {
+}
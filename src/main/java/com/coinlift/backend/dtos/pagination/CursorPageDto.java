@@ -0,0 +1,14 @@
+package com.coinlift.backend.dtos.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        @Schema(description = "The items of the current page.")
+        List<T> items,
+
+        @Schema(description = "The opaque cursor to request the next page with, or null if this is the last page.", example = "MjAyMy0wNy0zMVQxMjozNDo1NnwxMjNlNDU2Ny1lODli")
+        String nextCursor
+) {
+}
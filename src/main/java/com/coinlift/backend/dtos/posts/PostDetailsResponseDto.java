@@ -1,6 +1,7 @@
 package com.coinlift.backend.dtos.posts;
 
 import com.coinlift.backend.dtos.users.UserMainInfoDto;
+import com.coinlift.backend.entities.ImageStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.UUID;
@@ -12,8 +13,20 @@ public record PostDetailsResponseDto(
         @Schema(description = "The content of the post.", example = "Check out this amazing view!")
         String content,
 
-        @Schema(description = "The image associated with the post as a byte array.", example = "SGVsbG8gV29ybGQ=")
-        byte[] image,
+        @Schema(description = "The URL of the image associated with the post, or null if the post has no image.", example = "/api/v1/posts/123e4567-e89b-12d3-a456-426614174000/image")
+        String imageUrl,
+
+        @Schema(description = "The processing status of the post image, or null if the post has no image.", example = "READY")
+        ImageStatus imageStatus,
+
+        @Schema(description = "The BlurHash of the post image to show while it loads, or null until the image is ready.", example = "LEHV6nWB2yk8pyo0adR*.7kCMdnj")
+        String imagePlaceholder,
+
+        @Schema(description = "The width of the post image in pixels, or null until the image is ready.", example = "1920")
+        Integer imageWidth,
+
+        @Schema(description = "The height of the post image in pixels, or null until the image is ready.", example = "1080")
+        Integer imageHeight,
 
         @Schema(description = "Indicates whether the current user is the creator of the post.", example = "true")
         boolean isPostCreator,
@@ -27,6 +40,9 @@ public record PostDetailsResponseDto(
         @Schema(description = "The number of likes on the post.", example = "50")
         Integer likeCount,
 
+        @Schema(description = "Indicates whether the current user likes the post.", example = "false")
+        boolean likedByMe,
+
         UserMainInfoDto owner
 ) {
 }
@@ -0,0 +1,11 @@
+package com.coinlift.backend.dtos.posts;
+
+import com.coinlift.backend.entities.ImageStatus;
+
+import java.util.UUID;
+
+public record PostImageStatusDto(
+        UUID postId,
+        ImageStatus imageStatus
+) {
+}
@@ -0,0 +1,18 @@
+package com.coinlift.backend.dtos.posts;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PostImageUploadDto(
+        @Schema(description = "The ID of the upload, used to create the post once the image is uploaded.", example = "123e4567-e89b-12d3-a456-426614174000")
+        String uploadId,
+
+        @Schema(description = "The pre-signed URL the image has to be sent to with an HTTP PUT.", example = "https://coinlift.s3.eu-west-2.amazonaws.com/post-upload/...?X-Amz-Signature=...")
+        String uploadUrl,
+
+        @Schema(description = "The Content-Type header the upload has to be sent with.", example = "image/jpeg")
+        String contentType,
+
+        @Schema(description = "The number of seconds the upload URL stays valid.", example = "600")
+        long expiresIn
+) {
+}
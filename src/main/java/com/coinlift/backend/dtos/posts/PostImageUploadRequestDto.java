@@ -0,0 +1,11 @@
+package com.coinlift.backend.dtos.posts;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record PostImageUploadRequestDto(
+        @NotBlank
+        @Schema(description = "The content type of the image that will be uploaded.", example = "image/jpeg")
+        String contentType
+) {
+}
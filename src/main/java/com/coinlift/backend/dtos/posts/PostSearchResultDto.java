@@ -0,0 +1,11 @@
+package com.coinlift.backend.dtos.posts;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PostSearchResultDto(
+        PostDetailsResponseDto post,
+
+        @Schema(description = "HTML-escaped excerpt of the post content with the matched terms wrapped in <mark> tags.", example = "Bitcoin <mark>halving</mark> is coming")
+        String snippet
+) {
+}
@@ -12,8 +12,8 @@ public record PostShortResponseDto(
         @Schema(description = "The content of the post.", example = "Check out this amazing view!")
         String content,
 
-        @Schema(description = "The image associated with the post as a byte array.", example = "SGVsbG8gV29ybGQ=")
-        byte[] image,
+        @Schema(description = "The URL of the image associated with the post, or null if the post has no image.", example = "/api/v1/posts/123e4567-e89b-12d3-a456-426614174000/image")
+        String imageUrl,
 
         @Schema(description = "The number of likes on the post.", example = "50")
         Integer likeCount
@@ -9,6 +9,9 @@ public record UserMainInfoDto(
         @Schema(description = "The user's profile image as a byte array.", example = "SGVsbG8gV29ybGQ=")
         byte[] profileImage,
 
+        @Schema(description = "A time-limited URL of the user's profile image, set instead of the byte array when direct S3 downloads are enabled.", example = "https://coinlift.s3.eu-west-2.amazonaws.com/user-profile-image/af5be274?X-Amz-Signature=...")
+        String profileImageUrl,
+
         @Schema(description = "Indicates whether the current user is following this user.", example = "true")
         boolean isFollowing
 ) {
@@ -38,14 +38,17 @@ public class Comment {
     @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "FK_USERS_COMMENTS"))
     private User user;
 
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "parentComment")
+    @OneToMany(mappedBy = "parentComment")
     private List<Comment> replies = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_comment_id")
     private Comment parentComment;
 
-    public Comment(UUID id, String content, LocalDateTime createdAt, LocalDateTime updatedAt, Post post, User user, List<Comment> replies, Comment parentComment) {
+    @Column(insertable = false, updatable = false)
+    private Integer replyCount;
+
+    public Comment(UUID id, String content, LocalDateTime createdAt, LocalDateTime updatedAt, Post post, User user, List<Comment> replies, Comment parentComment, Integer replyCount) {
         this.id = id;
         this.content = content;
         this.createdAt = createdAt;
@@ -54,6 +57,7 @@ public class Comment {
         this.user = user;
         this.replies = replies;
         this.parentComment = parentComment;
+        this.replyCount = replyCount;
     }
 
     public Comment() {
@@ -122,4 +126,12 @@ public class Comment {
     public void setParentComment(Comment parentComment) {
         this.parentComment = parentComment;
     }
-}
\ No newline at end of file
+
+    public Integer getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(Integer replyCount) {
+        this.replyCount = replyCount;
+    }
+}
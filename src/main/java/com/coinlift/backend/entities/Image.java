@@ -0,0 +1,87 @@
+package com.coinlift.backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An image stored once per content hash and shared by every post that uses it. The S3 objects of the image are
+ * deleted when the last post referencing it is removed.
+ */
+@Entity
+@Table(name = "images")
+public class Image {
+
+    @Id
+    private String hash;
+
+    private String contentType;
+
+    private int width;
+
+    private int height;
+
+    private int refCount;
+
+    private LocalDateTime createdAt;
+
+    public Image(String hash, String contentType, int width, int height, int refCount, LocalDateTime createdAt) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.width = width;
+        this.height = height;
+        this.refCount = refCount;
+        this.createdAt = createdAt;
+    }
+
+    public Image() {
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,5 @@
+package com.coinlift.backend.entities;
+
+public enum ImageStatus {
+    PROCESSING, READY, FAILED
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.Where;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,6 +14,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "posts")
+@Where(clause = "deleted_at IS NULL")
 @Builder
 public class Post {
 
@@ -26,31 +28,69 @@ public class Post {
 
     private String imageLink;
 
+    @Column(updatable = false)
+    private boolean imageRenditions;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private ImageStatus imageStatus;
+
+    @Column(insertable = false, updatable = false)
+    private String imageHash;
+
+    @Column(insertable = false, updatable = false)
+    private String imagePlaceholder;
+
+    @Column(insertable = false, updatable = false)
+    private Integer imageWidth;
+
+    @Column(insertable = false, updatable = false)
+    private Integer imageHeight;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(insertable = false, updatable = false)
+    private boolean fannedOut;
+
+    @Column(insertable = false, updatable = false)
     private Integer likeCount;
 
-    @OneToMany(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY, mappedBy = "post", orphanRemoval = true)
+    @Column(insertable = false, updatable = false)
+    private Integer commentCount;
+
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "post")
     private List<Comment> comments = new ArrayList<>();
 
     @ManyToOne(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "FK_USERS_POSTS"))
     private User user;
 
-    @OneToMany(mappedBy = "post", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "post", fetch = FetchType.LAZY)
     private List<Like> likes = new ArrayList<>();
 
-    public Post(UUID id, String content, String imageLink, LocalDateTime createdAt, LocalDateTime updatedAt, Integer likeCount, List<Comment> comments, User user, List<Like> likes) {
+    public Post(UUID id, String content, String imageLink, boolean imageRenditions, ImageStatus imageStatus, String imageHash, String imagePlaceholder, Integer imageWidth, Integer imageHeight, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime deletedAt, boolean fannedOut, Integer likeCount, Integer commentCount, List<Comment> comments, User user, List<Like> likes) {
         this.id = id;
         this.content = content;
         this.imageLink = imageLink;
+        this.imageRenditions = imageRenditions;
+        this.imageStatus = imageStatus;
+        this.imageHash = imageHash;
+        this.imagePlaceholder = imagePlaceholder;
+        this.imageWidth = imageWidth;
+        this.imageHeight = imageHeight;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.deletedAt = deletedAt;
+        this.fannedOut = fannedOut;
         this.likeCount = likeCount;
+        this.commentCount = commentCount;
         this.comments = comments;
         this.user = user;
         this.likes = likes;
@@ -83,6 +123,54 @@ public class Post {
         this.imageLink = imageLink;
     }
 
+    public boolean isImageRenditions() {
+        return imageRenditions;
+    }
+
+    public void setImageRenditions(boolean imageRenditions) {
+        this.imageRenditions = imageRenditions;
+    }
+
+    public ImageStatus getImageStatus() {
+        return imageStatus;
+    }
+
+    public void setImageStatus(ImageStatus imageStatus) {
+        this.imageStatus = imageStatus;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImagePlaceholder() {
+        return imagePlaceholder;
+    }
+
+    public void setImagePlaceholder(String imagePlaceholder) {
+        this.imagePlaceholder = imagePlaceholder;
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public void setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public void setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -99,6 +187,22 @@ public class Post {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isFannedOut() {
+        return fannedOut;
+    }
+
+    public void setFannedOut(boolean fannedOut) {
+        this.fannedOut = fannedOut;
+    }
+
     public Integer getLikeCount() {
         return likeCount;
     }
@@ -107,6 +211,14 @@ public class Post {
         this.likeCount = likeCount;
     }
 
+    public Integer getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public List<Comment> getComments() {
         return comments;
     }
@@ -0,0 +1,74 @@
+package com.coinlift.backend.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "timeline_entries")
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private UUID userId;
+
+    private UUID postId;
+
+    private UUID authorId;
+
+    private LocalDateTime postCreatedAt;
+
+    public TimelineEntry(UUID id, UUID userId, UUID postId, UUID authorId, LocalDateTime postCreatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.postId = postId;
+        this.authorId = authorId;
+        this.postCreatedAt = postCreatedAt;
+    }
+
+    public TimelineEntry() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public void setPostId(UUID postId) {
+        this.postId = postId;
+    }
+
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(UUID authorId) {
+        this.authorId = authorId;
+    }
+
+    public LocalDateTime getPostCreatedAt() {
+        return postCreatedAt;
+    }
+
+    public void setPostCreatedAt(LocalDateTime postCreatedAt) {
+        this.postCreatedAt = postCreatedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.coinlift.backend.exceptions;
 
 import jakarta.mail.MessagingException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -51,6 +52,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(UploadAlreadyUsedException.class)
+    public ResponseEntity<ErrorDetails> handleUploadAlreadyUsedException(UploadAlreadyUsedException ex) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "Validation failed", new String[]{ex.getMessage()});
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ImageTooLargeException.class)
+    public ResponseEntity<ErrorDetails> handleImageTooLargeException(ImageTooLargeException ex) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "Validation failed", new String[]{ex.getMessage()});
+        return new ResponseEntity<>(errorDetails, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(UnsupportedImageException.class)
+    public ResponseEntity<ErrorDetails> handleUnsupportedImageException(UnsupportedImageException ex) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "Validation failed", new String[]{ex.getMessage()});
+        return new ResponseEntity<>(errorDetails, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDetails> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "Bad request", new String[]{ex.getMessage()});
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorDetails> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), "Service unavailable", new String[]{ex.getMessage()});
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(errorDetails);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorDetails> handleBadCredentialsException(BadCredentialsException ex) {
         ErrorDetails errorDetails = new ErrorDetails(new Date(), "Authentication failed", new String[]{ex.getMessage()});
@@ -0,0 +1,11 @@
+package com.coinlift.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+public class UnsupportedImageException extends RuntimeException {
+    public UnsupportedImageException(String message) {
+        super(message);
+    }
+}
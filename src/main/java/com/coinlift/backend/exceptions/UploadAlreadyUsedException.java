@@ -0,0 +1,11 @@
+package com.coinlift.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class UploadAlreadyUsedException extends RuntimeException {
+    public UploadAlreadyUsedException(String message) {
+        super(message);
+    }
+}
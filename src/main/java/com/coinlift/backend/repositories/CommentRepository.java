@@ -3,8 +3,11 @@ package com.coinlift.backend.repositories;
 import com.coinlift.backend.entities.Comment;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,20 +15,99 @@ import java.util.UUID;
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
 
     @Query("""
-            SELECT c FROM Comment c
+            SELECT c FROM Comment c JOIN FETCH c.user
             WHERE c.post.id = :postId AND c.parentComment IS NULL
-            ORDER BY c.createdAt DESC
+            ORDER BY c.createdAt DESC, c.id DESC
             """)
-    List<Comment> findAllWithoutReplies(UUID postId, Pageable pageable);
+    List<Comment> findTopLevelPage(UUID postId, Pageable pageable);
 
+    @Query("""
+            SELECT c FROM Comment c JOIN FETCH c.user
+            WHERE c.post.id = :postId AND c.parentComment IS NULL
+            AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id)
+            ORDER BY c.createdAt DESC, c.id DESC
+            """)
+    List<Comment> findTopLevelPageBefore(UUID postId, LocalDateTime createdAt, UUID id, Pageable pageable);
 
     @Query("SELECT c FROM Comment c WHERE c.post.id = ?1 AND c.id = ?2")
     Optional<Comment> findByPostIdAndCommentId(UUID postId, UUID commentId);
 
-    List<Comment> findByParentCommentId(UUID commentId, Pageable commentPage);
+    @Query("""
+            SELECT c FROM Comment c JOIN FETCH c.user
+            WHERE c.parentComment.id = :commentId
+            ORDER BY c.createdAt, c.id
+            """)
+    List<Comment> findRepliesPage(UUID commentId, Pageable pageable);
+
+    @Query("""
+            SELECT c FROM Comment c JOIN FETCH c.user
+            WHERE c.parentComment.id = :commentId
+            AND c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id)
+            ORDER BY c.createdAt, c.id
+            """)
+    List<Comment> findRepliesPageAfter(UUID commentId, LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    void updateReplyCount(UUID commentId, int delta);
+
+    @Query(value = """
+            WITH RECURSIVE subtree AS (
+                SELECT id FROM comments WHERE id = :commentId
+                UNION ALL
+                SELECT c.id FROM comments c JOIN subtree s ON c.parent_comment_id = s.id
+            )
+            SELECT COUNT(*) FROM subtree
+            """, nativeQuery = true)
+    long countSubtree(UUID commentId);
+
+    @Query(value = """
+            WITH RECURSIVE thread AS (
+                SELECT top.*, 1 AS depth
+                FROM (
+                    SELECT c.id, c.parent_comment_id, c.content, c.created_at, c.user_id, c.reply_count
+                    FROM comments c
+                    WHERE c.post_id = :postId AND c.parent_comment_id IS NULL
+                    ORDER BY c.created_at DESC
+                    LIMIT :breadth
+                ) top
+                UNION ALL
+                SELECT r.*, t.depth + 1
+                FROM thread t
+                CROSS JOIN LATERAL (
+                    SELECT c.id, c.parent_comment_id, c.content, c.created_at, c.user_id, c.reply_count
+                    FROM comments c
+                    WHERE c.parent_comment_id = t.id
+                    ORDER BY c.created_at
+                    LIMIT :breadth
+                ) r
+                WHERE t.depth < :depth
+            )
+            SELECT id, parent_comment_id AS "parentId", content, created_at AS "createdAt", user_id AS "userId",
+                   reply_count AS "replyCount", depth
+            FROM thread
+            ORDER BY depth, CASE WHEN depth = 1 THEN created_at END DESC, created_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CommentThreadRow> findThread(UUID postId, int depth, int breadth, int limit);
 
 //    @Query("SELECT NEW com.coinlift.backend.dtos.comments.CommentResponseDto(c.id, c.content, c.createdAt, CASE WHEN c.user.id = :currentUserId THEN true ELSE false END) " +
 //            "FROM Comment c WHERE c.post.id = :postId " +
 //            "ORDER BY (CASE WHEN c.user.id = :currentUserId THEN 1 ELSE 0 END) DESC, c.createdAt ASC")
 //    List<CommentResponseDto> getPageOfCommentsByPostId(@Param("postId") UUID postId, @Param("currentUserId") UUID currentUserId, Pageable pageable);
+
+    // Only comments without replies are picked, so the fk_parent_comment cascade never removes more rows than the
+    // limit; a tree is deleted from its leaves up over several batches
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM comments
+            WHERE id IN (
+                SELECT c.id FROM comments c
+                WHERE c.post_id = :postId
+                AND NOT EXISTS (SELECT 1 FROM comments r WHERE r.parent_comment_id = c.id)
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteBatchByPostId(UUID postId, int limit);
 }
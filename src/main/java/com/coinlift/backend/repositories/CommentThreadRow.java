@@ -0,0 +1,24 @@
+package com.coinlift.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A comment loaded as part of a comment thread, with its depth in the thread. Top-level comments have depth 1.
+ */
+public interface CommentThreadRow {
+
+    UUID getId();
+
+    UUID getParentId();
+
+    String getContent();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getUserId();
+
+    int getReplyCount();
+
+    int getDepth();
+}
@@ -6,7 +6,9 @@ import com.coinlift.backend.entities.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface FollowerRepository extends JpaRepository<Follower, UUID> {
@@ -15,6 +17,12 @@ public interface FollowerRepository extends JpaRepository<Follower, UUID> {
 
     Boolean existsByFrom_IdAndTo_Id(UUID fromId, UUID toId);
 
+    @Query("""
+            SELECT f.to.id FROM Follower f
+            WHERE f.from.id = :fromId AND f.to.id IN :toIds
+            """)
+    Set<UUID> findFollowedIds(UUID fromId, Collection<UUID> toIds);
+
     @Query("""
             SELECT NEW com.coinlift.backend.dtos.users.FollowerResponseDto(f.to.username, f.to.id)
             FROM Follower f WHERE f.from.id = :fromId
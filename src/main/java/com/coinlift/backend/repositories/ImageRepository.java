@@ -0,0 +1,46 @@
+package com.coinlift.backend.repositories;
+
+import com.coinlift.backend.entities.Image;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ImageRepository extends JpaRepository<Image, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.refCount = i.refCount + 1 WHERE i.hash = :hash")
+    int incrementRefCount(String hash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.refCount = i.refCount - 1 WHERE i.hash = :hash AND i.refCount > 0")
+    int decrementRefCount(String hash);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO images (hash, content_type, width, height, ref_count, created_at)
+            VALUES (:hash, :contentType, :width, :height, 1, now())
+            ON CONFLICT (hash) DO UPDATE SET ref_count = images.ref_count + 1
+            """, nativeQuery = true)
+    void insertOrIncrementRefCount(String hash, String contentType, int width, int height);
+
+    @Query("SELECT i.hash FROM Image i WHERE i.hash IN :hashes")
+    Set<String> findHashesIn(Collection<String> hashes);
+
+    @Query(value = "SELECT hash FROM images WHERE ref_count = 0 ORDER BY created_at LIMIT :limit", nativeQuery = true)
+    List<String> findUnreferenced(int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Image i WHERE i.hash = :hash")
+    Optional<Image> findByHashForUpdate(String hash);
+}
@@ -2,13 +2,37 @@ package com.coinlift.backend.repositories;
 
 import com.coinlift.backend.entities.Like;
 import com.coinlift.backend.entities.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface LikeRepository extends JpaRepository<Like, UUID> {
 
-    Like getLikeByUserAndPostId(User user, UUID postId);
-
     boolean existsByUserAndPostId(User user, UUID postId);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    Set<UUID> findLikedPostIds(UUID userId, Collection<UUID> postIds);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.createdAt >= :since")
+    List<UUID> findLikedPostIdsSince(UUID userId, LocalDateTime since, Pageable pageable);
+
+    // Relies on uq_likes_user_post, returns 0 if the user already likes the post
+    @Modifying
+    @Query(value = """
+            INSERT INTO likes (id, user_id, post_id)
+            VALUES (gen_random_uuid(), :userId, :postId)
+            ON CONFLICT (user_id, post_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(UUID userId, UUID postId);
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteByUserIdAndPostId(UUID userId, UUID postId);
 }
@@ -1,18 +1,175 @@
 package com.coinlift.backend.repositories;
 
+import com.coinlift.backend.entities.ImageStatus;
 import com.coinlift.backend.entities.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface PostRepository extends JpaRepository<Post, UUID> {
+    // A query instead of EntityManager#find, so removed posts are filtered out
+    @Override
+    @Query("SELECT p FROM Post p WHERE p.id = :id")
+    Optional<Post> findById(UUID id);
+
     @Query("SELECT p FROM Post p WHERE p.imageLink IS NOT NULL ORDER BY p.createdAt DESC LIMIT 6")
     List<Post> findLatestPosts();
 
     @Query("""
-            select p from Post p join p.likes l where l.user.id = :userId
+            select p from Post p join fetch p.user join p.likes l where l.user.id = :userId
             """)
     List<Post> findLikedPostsByUserId(UUID userId);
+
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.user
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Post> findFeedPage(Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.user
+            WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Post> findFeedPageBefore(LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.user
+            WHERE p.id IN :ids
+            """)
+    List<Post> findAllWithUserByIdIn(Collection<UUID> ids);
+
+    // Posts of followed authors that are missing from the user's timeline_entries
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.user
+            WHERE p.fannedOut = false
+            AND p.user.id IN (SELECT f.to.id FROM Follower f WHERE f.from.id = :userId)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Post> findNotFannedOutFeedPage(UUID userId, Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p JOIN FETCH p.user
+            WHERE p.fannedOut = false
+            AND p.user.id IN (SELECT f.to.id FROM Follower f WHERE f.from.id = :userId)
+            AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id)
+            ORDER BY p.createdAt DESC, p.id DESC
+            """)
+    List<Post> findNotFannedOutFeedPageBefore(UUID userId, LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.fannedOut = true WHERE p.id = :postId")
+    int markFannedOut(UUID postId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    void updateCommentCount(UUID postId, int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :postId")
+    int updateLikeCount(UUID postId, int delta);
+
+    boolean existsByImageLink(String imageLink);
+
+    @Query("SELECT p.imageLink FROM Post p WHERE p.imageLink IN :imageLinks")
+    Set<String> findImageLinksIn(Collection<String> imageLinks);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.imageLink IS NOT NULL AND p.imageRenditions = false
+            ORDER BY p.createdAt, p.id
+            """)
+    List<Post> findWithoutImageRenditions(Pageable pageable);
+
+    @Query("""
+            SELECT p FROM Post p
+            WHERE p.imageLink IS NOT NULL AND p.imageRenditions = false
+            AND p.createdAt >= :createdAt AND (p.createdAt > :createdAt OR p.id > :id)
+            ORDER BY p.createdAt, p.id
+            """)
+    List<Post> findWithoutImageRenditionsAfter(LocalDateTime createdAt, UUID id, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Post p SET p.imageRenditions = true, p.imageHash = :imageHash, p.imagePlaceholder = :placeholder,
+            p.imageWidth = :width, p.imageHeight = :height
+            WHERE p.id = :postId
+            """)
+    int markImageStored(UUID postId, String imageHash, String placeholder, int width, int height);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Post p SET p.imageHash = :imageHash, p.imageStatus = :status, p.imagePlaceholder = :placeholder,
+            p.imageWidth = :width, p.imageHeight = :height
+            WHERE p.id = :postId
+            """)
+    int completeImage(UUID postId, String imageHash, ImageStatus status, String placeholder, int width, int height);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.imageStatus = :status WHERE p.id = :postId")
+    int updateImageStatus(UUID postId, ImageStatus status);
+
+    @Query(value = """
+            SELECT r.id AS id, r.rank AS rank,
+                   ts_headline('english', r.content, r.query,
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxFragments=2, MaxWords=30, MinWords=10') AS snippet
+            FROM (
+                SELECT p.id, p.content, q AS query, ts_rank(p.content_tsv, q) AS rank
+                FROM posts p, websearch_to_tsquery('english', :query) q
+                WHERE p.content_tsv @@ q AND p.deleted_at IS NULL
+                ORDER BY rank DESC, p.id DESC
+                LIMIT :limit
+            ) r
+            ORDER BY r.rank DESC, r.id DESC
+            """, nativeQuery = true)
+    List<PostSearchHit> search(String query, int limit);
+
+    @Query(value = """
+            SELECT r.id AS id, r.rank AS rank,
+                   ts_headline('english', r.content, r.query,
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxFragments=2, MaxWords=30, MinWords=10') AS snippet
+            FROM (
+                SELECT p.id, p.content, q AS query, ts_rank(p.content_tsv, q) AS rank
+                FROM posts p, websearch_to_tsquery('english', :query) q
+                WHERE p.content_tsv @@ q AND p.deleted_at IS NULL
+                AND (ts_rank(p.content_tsv, q) < CAST(:rank AS REAL)
+                     OR (ts_rank(p.content_tsv, q) = CAST(:rank AS REAL) AND p.id < :id))
+                ORDER BY rank DESC, p.id DESC
+                LIMIT :limit
+            ) r
+            ORDER BY r.rank DESC, r.id DESC
+            """, nativeQuery = true)
+    List<PostSearchHit> searchAfter(String query, float rank, UUID id, int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.deletedAt = CURRENT_TIMESTAMP WHERE p.id = :postId AND p.deletedAt IS NULL")
+    int softDelete(UUID postId);
+
+    @Query(value = """
+            SELECT * FROM posts
+            WHERE deleted_at IS NOT NULL
+            ORDER BY deleted_at
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Post> findDeleted(int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM posts WHERE id = :postId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purge(UUID postId);
 }
@@ -0,0 +1,20 @@
+package com.coinlift.backend.repositories;
+
+import java.util.UUID;
+
+/**
+ * A post matching a full-text search, with its rank and a snippet of its content. Matched terms in the snippet
+ * are wrapped in {@link #MATCH_START} and {@link #MATCH_END}.
+ */
+public interface PostSearchHit {
+
+    char MATCH_START = '\u0002';
+
+    char MATCH_END = '\u0003';
+
+    UUID getId();
+
+    float getRank();
+
+    String getSnippet();
+}
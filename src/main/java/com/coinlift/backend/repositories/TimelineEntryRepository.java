@@ -0,0 +1,57 @@
+package com.coinlift.backend.repositories;
+
+import com.coinlift.backend.entities.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, UUID> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO timeline_entries (id, user_id, post_id, author_id, post_created_at)
+            SELECT gen_random_uuid(), f.from_user_fk, :postId, :authorId, :postCreatedAt
+            FROM followers f WHERE f.to_user_fk = :authorId
+            ON CONFLICT (user_id, post_id) DO NOTHING
+            """, nativeQuery = true)
+    int fanOutToFollowers(UUID postId, UUID authorId, LocalDateTime postCreatedAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO timeline_entries (id, user_id, post_id, author_id, post_created_at)
+            SELECT gen_random_uuid(), :userId, p.id, p.user_id, p.created_at
+            FROM posts p WHERE p.user_id = :authorId AND p.deleted_at IS NULL
+            ORDER BY p.created_at DESC
+            LIMIT :limit
+            ON CONFLICT (user_id, post_id) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromAuthor(UUID userId, UUID authorId, int limit);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId AND t.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(UUID userId, UUID authorId);
+
+    // Entries of removed posts stay until the post is purged, so they are skipped here and the limit applies to
+    // live posts only
+    @Query("""
+            SELECT t.postId FROM TimelineEntry t
+            WHERE t.userId = :userId
+            AND EXISTS (SELECT p.id FROM Post p WHERE p.id = t.postId AND p.deletedAt IS NULL)
+            ORDER BY t.postCreatedAt DESC, t.postId DESC
+            """)
+    List<UUID> findPostIds(UUID userId, Pageable pageable);
+
+    @Query("""
+            SELECT t.postId FROM TimelineEntry t
+            WHERE t.userId = :userId
+            AND EXISTS (SELECT p.id FROM Post p WHERE p.id = t.postId AND p.deletedAt IS NULL)
+            AND t.postCreatedAt <= :createdAt AND (t.postCreatedAt < :createdAt OR t.postId < :postId)
+            ORDER BY t.postCreatedAt DESC, t.postId DESC
+            """)
+    List<UUID> findPostIdsBefore(UUID userId, LocalDateTime createdAt, UUID postId, Pageable pageable);
+}
@@ -4,7 +4,9 @@ import com.coinlift.backend.entities.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -20,4 +22,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.imageUrl FROM User u WHERE u.imageUrl IN :imageUrls")
+    Set<String> findImageUrlsIn(Collection<String> imageUrls);
 }
@@ -0,0 +1,15 @@
+package com.coinlift.backend.services.avatars;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface AvatarService {
+
+    String DEFAULT_AVATAR_ID = "af5be274-71e7-4561-98fd-b33f80f759cf";
+
+    byte[] getAvatar(String imageId);
+
+    Map<String, byte[]> getAvatars(Collection<String> imageIds);
+
+    void evict(String imageId);
+}
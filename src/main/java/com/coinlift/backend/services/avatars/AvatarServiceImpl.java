@@ -0,0 +1,161 @@
+package com.coinlift.backend.services.avatars;
+
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.services.s3.S3Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared cache of profile images keyed by image id.
+ * <p>
+ * Most users keep the default avatar assigned on registration, so it is pinned in memory at startup and never
+ * requested from S3 again. Other avatars are kept in a size-bounded Caffeine cache; since a new avatar gets a new
+ * image id, an entry only has to be evicted to free memory when an avatar is replaced.
+ */
+@Service
+@Log4j2
+public class AvatarServiceImpl implements AvatarService {
+
+    private final S3Service s3Service;
+
+    private final S3Buckets s3Buckets;
+
+    private final Duration fetchDeadline;
+
+    private final Cache<String, byte[]> avatars;
+
+    private volatile byte[] defaultAvatar;
+
+    public AvatarServiceImpl(S3Service s3Service, S3Buckets s3Buckets,
+                             @Value("${aws.s3.fetch.deadline}") Duration fetchDeadline,
+                             @Value("${avatars.cache.size}") DataSize cacheSize,
+                             MeterRegistry meterRegistry) {
+        this.s3Service = s3Service;
+        this.s3Buckets = s3Buckets;
+        this.fetchDeadline = fetchDeadline;
+        this.avatars = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .weigher((String imageId, byte[] avatar) -> avatar.length)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, avatars, "avatars");
+    }
+
+    /**
+     * Loads the default avatar once the application is up. If S3 is not reachable yet, it is loaded on first use
+     * instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDefaultAvatar() {
+        try {
+            getDefaultAvatar();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the default avatar, it will be loaded on first use", e);
+        }
+    }
+
+    /**
+     * Retrieves a profile image by its image id, downloading it within {@code aws.s3.fetch.deadline} if it is not
+     * cached.
+     *
+     * @param imageId The image id of the profile image, or null for users without one, who get the default avatar.
+     * @return The bytes of the profile image, or null if it could not be downloaded in time.
+     */
+    @Override
+    public byte[] getAvatar(String imageId) {
+        String avatarId = imageId != null ? imageId : DEFAULT_AVATAR_ID;
+        return getAvatars(List.of(avatarId)).get(avatarId);
+    }
+
+    /**
+     * Retrieves several profile images at once. Cached images are returned directly, the rest are downloaded
+     * concurrently within {@code aws.s3.fetch.deadline}. Images that are not downloaded in time are left out of
+     * the result.
+     *
+     * @param imageIds The image ids of the profile images. Duplicates are fetched once. A null id stands for users
+     *                 without a profile image and is mapped to the default avatar.
+     * @return A map of image id to profile image bytes.
+     */
+    @Override
+    public Map<String, byte[]> getAvatars(Collection<String> imageIds) {
+        Map<String, byte[]> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        boolean withoutAvatar = false;
+        for (String imageId : imageIds) {
+            if (imageId == null) {
+                withoutAvatar = true;
+                imageId = DEFAULT_AVATAR_ID;
+            }
+            byte[] avatar = DEFAULT_AVATAR_ID.equals(imageId) ? defaultAvatar : avatars.getIfPresent(imageId);
+            if (avatar != null) {
+                result.put(imageId, avatar);
+            } else {
+                missing.add(imageId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            fetchAvatars(missing, result);
+        }
+        if (withoutAvatar && result.containsKey(DEFAULT_AVATAR_ID)) {
+            result.put(null, result.get(DEFAULT_AVATAR_ID));
+        }
+        return result;
+    }
+
+    private void fetchAvatars(Set<String> missing, Map<String, byte[]> result) {
+        Map<String, String> imageIdsByKey = new HashMap<>();
+        for (String imageId : missing) {
+            imageIdsByKey.put(getKey(imageId), imageId);
+        }
+        s3Service.getObjects(s3Buckets.getCustomer(), imageIdsByKey.keySet(), fetchDeadline)
+                .forEach((key, avatar) -> {
+                    String imageId = imageIdsByKey.get(key);
+                    if (DEFAULT_AVATAR_ID.equals(imageId)) {
+                        defaultAvatar = avatar;
+                    } else {
+                        avatars.put(imageId, avatar);
+                    }
+                    result.put(imageId, avatar);
+                });
+    }
+
+    /**
+     * Removes a profile image from the cache, to be called whenever the stored avatar is deleted.
+     *
+     * @param imageId The image id of the deleted profile image.
+     */
+    @Override
+    public void evict(String imageId) {
+        avatars.invalidate(imageId);
+    }
+
+    private byte[] getDefaultAvatar() {
+        byte[] avatar = defaultAvatar;
+        if (avatar == null) {
+            avatar = s3Service.getObject(s3Buckets.getCustomer(), getKey(DEFAULT_AVATAR_ID));
+            defaultAvatar = avatar;
+        }
+        return avatar;
+    }
+
+    private String getKey(String imageId) {
+        return "user-profile-image/%s".formatted(imageId);
+    }
+}
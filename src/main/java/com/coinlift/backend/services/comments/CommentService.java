@@ -2,15 +2,19 @@ package com.coinlift.backend.services.comments;
 
 import com.coinlift.backend.dtos.comments.CommentRequestDto;
 import com.coinlift.backend.dtos.comments.CommentResponseDto;
+import com.coinlift.backend.dtos.comments.CommentThreadDto;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface CommentService {
 
-    List<CommentResponseDto> getComments(UUID postId, int page, int size);
+    CursorPageDto<CommentResponseDto> getComments(UUID postId, String cursor, int size);
 
-    List<CommentResponseDto> getReplies(UUID commentId, int page, int size);
+    List<CommentThreadDto> getThread(UUID postId, int depth, int breadth);
+
+    CursorPageDto<CommentResponseDto> getReplies(UUID commentId, String cursor, int size);
 
     UUID createReply(CommentRequestDto commentRequestDto, UUID commentId);
 
@@ -2,34 +2,54 @@ package com.coinlift.backend.services.comments;
 
 import com.coinlift.backend.dtos.comments.CommentRequestDto;
 import com.coinlift.backend.dtos.comments.CommentResponseDto;
+import com.coinlift.backend.dtos.comments.CommentThreadDto;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
+import com.coinlift.backend.dtos.users.UserMainInfoDto;
 import com.coinlift.backend.entities.Comment;
 import com.coinlift.backend.entities.Post;
 import com.coinlift.backend.entities.notification.EventType;
 import com.coinlift.backend.entities.user.MyUserDetails;
 import com.coinlift.backend.entities.user.User;
 import com.coinlift.backend.exceptions.DeniedAccessException;
+import com.coinlift.backend.exceptions.InvalidCursorException;
 import com.coinlift.backend.exceptions.ResourceNotFoundException;
 import com.coinlift.backend.mappers.CommentMapper;
 import com.coinlift.backend.repositories.CommentRepository;
+import com.coinlift.backend.repositories.CommentThreadRow;
 import com.coinlift.backend.repositories.PostRepository;
 import com.coinlift.backend.repositories.UserRepository;
 import com.coinlift.backend.services.followers.FollowerService;
 import com.coinlift.backend.services.notifications.NotificationService;
+import com.coinlift.backend.services.pagination.Cursor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private static final int MAX_THREAD_DEPTH = 10;
+
+    private static final int MAX_THREAD_BREADTH = 50;
+
+    private static final int MAX_THREAD_COMMENTS = 500;
+
     private final CommentRepository commentRepository;
 
     private final CommentMapper commentMapper;
@@ -52,55 +72,98 @@ public class CommentServiceImpl implements CommentService {
     }
 
     /**
-     * Retrieve a paginated list of comments for a specific post.
+     * Retrieve a page of the top-level comments of a specific post, newest first, using cursor pagination.
      *
      * @param postId The unique ID of the post to fetch comments for.
-     * @param page   The page number for pagination (default: 0).
-     * @param size   The number of comments per page (default: 10).
-     * @return A list of {@link CommentResponseDto} representing the comments for the post.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of comments per page.
+     * @return A {@link CursorPageDto} with the comments of the page and the cursor of the next one.
+     * @throws InvalidCursorException    if the cursor is malformed.
+     * @throws ResourceNotFoundException if the post is not found or has been deleted.
      */
     @Override
-    public List<CommentResponseDto> getComments(UUID postId, int page, int size) {
+    public CursorPageDto<CommentResponseDto> getComments(UUID postId, String cursor, int size) {
+        checkPostExists(postId);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Cursor position = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Comment> comments = position == null
+                ? commentRepository.findTopLevelPage(postId, limit)
+                : commentRepository.findTopLevelPageBefore(postId, position.createdAt(), position.id(), limit);
+
+        return toCursorPage(comments, pageSize);
+    }
+
+    /**
+     * Retrieve the comment thread of a post in a single query.
+     * <p>
+     * The thread is loaded with a recursive query that follows replies down to {@code depth} levels, taking the
+     * newest {@code breadth} top-level comments and the oldest {@code breadth} replies of every comment, and at most
+     * {@value #MAX_THREAD_COMMENTS} comments in total. The authors of all comments are resolved in one batch.
+     *
+     * @param postId  The unique ID of the post to fetch the thread for.
+     * @param depth   The number of reply levels to include, top-level comments being the first.
+     * @param breadth The number of comments to include per level below the same parent.
+     * @return The top-level comments of the post with their replies nested.
+     * @throws ResourceNotFoundException if the post is not found or has been deleted.
+     */
+    @Override
+    public List<CommentThreadDto> getThread(UUID postId, int depth, int breadth) {
+        checkPostExists(postId);
         UUID userId = getUserIdOrNull();
-        Pageable commentPage = PageRequest.of(page, size);
+        LocalDateTime now = LocalDateTime.now();
 
-        List<Comment> comments = commentRepository.findAllWithoutReplies(postId, commentPage);
+        List<CommentThreadRow> rows = commentRepository.findThread(
+                postId,
+                Math.max(1, Math.min(depth, MAX_THREAD_DEPTH)),
+                Math.max(1, Math.min(breadth, MAX_THREAD_BREADTH)),
+                MAX_THREAD_COMMENTS
+        );
 
-        return comments.stream()
-                .map(comment -> new CommentResponseDto(
-                        comment.getId(),
-                        comment.getContent(),
-                        Duration.between(comment.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                        isCreator(userId, comment),
-                        isRepliesExists(comment),
-                        followerService.getUserMainInfo(comment.getUser().getId())
-                )).toList();
+        Set<UUID> authorIds = rows.stream()
+                .map(CommentThreadRow::getUserId)
+                .collect(Collectors.toSet());
+        Map<UUID, UserMainInfoDto> owners = followerService.getUsersMainInfo(userRepository.findAllById(authorIds));
+
+        // Rows come ordered by depth, so every parent is grouped before its replies are looked up
+        Map<UUID, List<CommentThreadRow>> repliesByParent = new HashMap<>();
+        List<CommentThreadRow> topLevel = new ArrayList<>();
+        for (CommentThreadRow row : rows) {
+            if (row.getParentId() == null) {
+                topLevel.add(row);
+            } else {
+                repliesByParent.computeIfAbsent(row.getParentId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        return toThread(topLevel, repliesByParent, owners, userId, now);
     }
 
     /**
-     * Retrieve a paginated list of replies for a specific comment.
+     * Retrieve a page of the replies to a specific comment, oldest first, using cursor pagination.
      *
      * @param commentId The unique ID of the comment to fetch replies for.
-     * @param page      The page number for pagination (default: 0).
-     * @param size      The number of replies per page (default: 10).
-     * @return A list of {@link CommentResponseDto} representing the replies to the comment.
+     * @param cursor    The cursor returned with the previous page, or null for the first page.
+     * @param size      The number of replies per page.
+     * @return A {@link CursorPageDto} with the replies of the page and the cursor of the next one.
+     * @throws InvalidCursorException    if the cursor is malformed.
+     * @throws ResourceNotFoundException if the comment is not found or its post has been deleted.
      */
     @Override
-    public List<CommentResponseDto> getReplies(UUID commentId, int page, int size) {
-        UUID userId = getUserIdOrNull();
+    public CursorPageDto<CommentResponseDto> getReplies(UUID commentId, String cursor, int size) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("comment with id " + commentId + " not found!"));
+        checkPostExists(comment.getPost().getId());
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Cursor position = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-        List<Comment> paginatedComments = commentRepository.findByParentCommentId(commentId, PageRequest.of(page, size));
+        List<Comment> replies = position == null
+                ? commentRepository.findRepliesPage(commentId, limit)
+                : commentRepository.findRepliesPageAfter(commentId, position.createdAt(), position.id(), limit);
 
-        return paginatedComments.stream()
-                .map(reply -> new CommentResponseDto(
-                        reply.getId(),
-                        reply.getContent(),
-                        Duration.between(reply.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                        isCreator(userId, reply),
-                        isRepliesExists(reply),
-                        followerService.getUserMainInfo(reply.getUser().getId())
-                ))
-                .toList();
+        return toCursorPage(replies, pageSize);
     }
 
     /**
@@ -112,6 +175,7 @@ public class CommentServiceImpl implements CommentService {
      * @throws ResourceNotFoundException if the parent comment with the specified ID is not found.
      */
     @Override
+    @Transactional
     public UUID createReply(CommentRequestDto commentRequestDto, UUID commentId) {
         UUID userId = getUserId();
         Comment parrentComment = commentRepository.findById(commentId)
@@ -127,7 +191,11 @@ public class CommentServiceImpl implements CommentService {
 
         notificationService.notifyUser(user.getUsername(), parrentComment.getUser().getId(), EventType.REPLY);
 
-        return commentRepository.save(comment).getId();
+        UUID replyId = commentRepository.save(comment).getId();
+        postRepository.updateCommentCount(parrentComment.getPost().getId(), 1);
+        commentRepository.updateReplyCount(commentId, 1);
+
+        return replyId;
     }
 
 
@@ -140,6 +208,7 @@ public class CommentServiceImpl implements CommentService {
      * @throws ResourceNotFoundException if the user is not found when trying to create the comment.
      */
     @Override
+    @Transactional
     public UUID createComment(CommentRequestDto commentRequestDto, UUID postId) {
         UUID userId = getUserId();
         User user = userRepository.findById(userId)
@@ -152,7 +221,10 @@ public class CommentServiceImpl implements CommentService {
 
         notificationService.notifyUser(user.getUsername(), post.getUser().getId(), EventType.COMMENT);
 
-        return commentRepository.save(comment).getId();
+        UUID commentId = commentRepository.save(comment).getId();
+        postRepository.updateCommentCount(postId, 1);
+
+        return commentId;
     }
 
     /**
@@ -193,13 +265,64 @@ public class CommentServiceImpl implements CommentService {
      * @throws DeniedAccessException if the user is not the creator of the comment and not authorized to delete it.
      */
     @Override
+    @Transactional
     public void deleteComment(UUID postId, UUID commentId) {
         UUID userId = getUserId();
         Comment comment = getComment(postId, commentId);
 
         checkAccess(userId, comment);
 
+        long removedComments = commentRepository.countSubtree(comment.getId());
+        Comment parentComment = comment.getParentComment();
+
         commentRepository.deleteById(comment.getId());
+
+        postRepository.updateCommentCount(postId, (int) -removedComments);
+        if (parentComment != null) {
+            commentRepository.updateReplyCount(parentComment.getId(), -1);
+        }
+    }
+
+    private CursorPageDto<CommentResponseDto> toCursorPage(List<Comment> comments, int pageSize) {
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            Comment last = comments.get(pageSize - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        UUID userId = getUserIdOrNull();
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, UserMainInfoDto> owners = followerService.getUsersMainInfo(
+                comments.stream().map(Comment::getUser).toList()
+        );
+
+        List<CommentResponseDto> items = comments.stream()
+                .map(comment -> new CommentResponseDto(
+                        comment.getId(),
+                        comment.getContent(),
+                        Duration.between(comment.getCreatedAt(), now).getSeconds(),
+                        isCreator(userId, comment),
+                        isRepliesExists(comment),
+                        owners.get(comment.getUser().getId())
+                ))
+                .toList();
+        return new CursorPageDto<>(items, nextCursor);
+    }
+
+    private List<CommentThreadDto> toThread(List<CommentThreadRow> rows, Map<UUID, List<CommentThreadRow>> repliesByParent,
+                                            Map<UUID, UserMainInfoDto> owners, UUID userId, LocalDateTime now) {
+        return rows.stream()
+                .map(row -> new CommentThreadDto(
+                        row.getId(),
+                        row.getContent(),
+                        Duration.between(row.getCreatedAt(), now).getSeconds(),
+                        row.getUserId().equals(userId),
+                        row.getReplyCount(),
+                        owners.get(row.getUserId()),
+                        toThread(repliesByParent.getOrDefault(row.getId(), List.of()), repliesByParent, owners, userId, now)
+                ))
+                .toList();
     }
 
     private UUID getUserId() {
@@ -211,6 +334,12 @@ public class CommentServiceImpl implements CommentService {
         return userDetails.user().getId();
     }
 
+    // Comments of a soft-deleted post stay in the table until the post is purged
+    private void checkPostExists(UUID postId) {
+        postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("post not found"));
+    }
+
     private UUID getUserIdOrNull() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication instanceof AnonymousAuthenticationToken) {
@@ -239,6 +368,6 @@ public class CommentServiceImpl implements CommentService {
     }
 
     private boolean isRepliesExists(Comment comment) {
-        return !comment.getReplies().isEmpty();
+        return comment.getReplyCount() != null && comment.getReplyCount() > 0;
     }
 }
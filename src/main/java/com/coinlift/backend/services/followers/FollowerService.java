@@ -2,8 +2,11 @@ package com.coinlift.backend.services.followers;
 
 import com.coinlift.backend.dtos.users.FollowerResponseDto;
 import com.coinlift.backend.dtos.users.UserMainInfoDto;
+import com.coinlift.backend.entities.user.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface FollowerService {
@@ -14,6 +17,8 @@ public interface FollowerService {
 
     UserMainInfoDto getUserMainInfo(UUID userId);
 
+    Map<UUID, UserMainInfoDto> getUsersMainInfo(Collection<User> users);
+
     List<FollowerResponseDto> getFollowers(UUID userId);
 
     List<FollowerResponseDto> getFollowing(UUID userId);
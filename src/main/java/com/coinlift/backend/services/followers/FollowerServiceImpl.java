@@ -11,16 +11,23 @@ import com.coinlift.backend.exceptions.DeniedAccessException;
 import com.coinlift.backend.exceptions.ResourceNotFoundException;
 import com.coinlift.backend.repositories.FollowerRepository;
 import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.avatars.AvatarService;
 import com.coinlift.backend.services.notifications.NotificationService;
-import com.coinlift.backend.services.s3.S3Service;
+import com.coinlift.backend.services.s3.S3PresignService;
+import com.coinlift.backend.services.timeline.TimelineService;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class FollowerServiceImpl implements FollowerService {
@@ -29,18 +36,24 @@ public class FollowerServiceImpl implements FollowerService {
 
     private final FollowerRepository followerRepository;
 
-    private final S3Service s3Service;
+    private final AvatarService avatarService;
 
     private final S3Buckets s3Buckets;
 
     private final NotificationService notificationService;
 
-    public FollowerServiceImpl(UserRepository userRepository, FollowerRepository followerRepository, S3Service s3Service, S3Buckets s3Buckets, NotificationService notificationService) {
+    private final TimelineService timelineService;
+
+    private final S3PresignService s3PresignService;
+
+    public FollowerServiceImpl(UserRepository userRepository, FollowerRepository followerRepository, AvatarService avatarService, S3Buckets s3Buckets, NotificationService notificationService, TimelineService timelineService, S3PresignService s3PresignService) {
         this.userRepository = userRepository;
         this.followerRepository = followerRepository;
-        this.s3Service = s3Service;
+        this.avatarService = avatarService;
         this.s3Buckets = s3Buckets;
         this.notificationService = notificationService;
+        this.timelineService = timelineService;
+        this.s3PresignService = s3PresignService;
     }
 
     /**
@@ -70,6 +83,8 @@ public class FollowerServiceImpl implements FollowerService {
 
         followerRepository.save(follow);
         userRepository.saveAll(List.of(from, to));
+
+        timelineService.backfillFollowing(from.getId(), to.getId());
     }
 
     /**
@@ -98,6 +113,7 @@ public class FollowerServiceImpl implements FollowerService {
             to.setFollowersCount(to.getFollowersCount() - 1);
 
             userRepository.saveAll(List.of(from, to));
+            timelineService.trimFollowing(from.getId(), to.getId());
         }
     }
 
@@ -112,13 +128,59 @@ public class FollowerServiceImpl implements FollowerService {
         UUID currentUserId = getUserIdOrNull();
         User user = getUserById(userId);
 
+        boolean presigned = s3PresignService.isEnabled();
         return new UserMainInfoDto(
                 user.getUsername(),
-                getUserImage(user), // TODO: implement methods that will allow to add the profile image
+                presigned ? null : getUserImage(user), // TODO: implement methods that will allow to add the profile image
+                presigned ? getUserImageUrl(user) : null,
                 followerRepository.existsByFrom_IdAndTo_Id(currentUserId, userId)
         );
     }
 
+    /**
+     * Retrieves the main information of several users at once.
+     * <p>
+     * The follow state of all users is resolved with a single query and profile images are read from the shared
+     * avatar cache. Every distinct missing profile image is downloaded only once, concurrently and within
+     * {@code aws.s3.fetch.deadline}. A profile image that is not downloaded in time is returned as null instead of
+     * failing the request. When direct S3 downloads are enabled, nothing is downloaded and every user gets a
+     * pre-signed URL of their profile image instead.
+     *
+     * @param users The users whose main information is to be retrieved.
+     * @return A map of user id to the `UserMainInfoDto` of that user.
+     */
+    @Override
+    public Map<UUID, UserMainInfoDto> getUsersMainInfo(Collection<User> users) {
+        UUID currentUserId = getUserIdOrNull();
+        Set<UUID> userIds = users.stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        Set<UUID> followedIds = currentUserId == null || userIds.isEmpty()
+                ? Set.of()
+                : followerRepository.findFollowedIds(currentUserId, userIds);
+
+        boolean presigned = s3PresignService.isEnabled();
+        Map<String, byte[]> images = Map.of();
+        if (!presigned) {
+            Set<String> imageIds = users.stream()
+                    .map(User::getImageUrl)
+                    .collect(Collectors.toSet());
+            images = avatarService.getAvatars(imageIds);
+        }
+
+        Map<UUID, UserMainInfoDto> mainInfo = new HashMap<>();
+        for (User user : users) {
+            mainInfo.putIfAbsent(user.getId(), new UserMainInfoDto(
+                    user.getUsername(),
+                    images.get(user.getImageUrl()),
+                    presigned ? getUserImageUrl(user) : null,
+                    followedIds.contains(user.getId())
+            ));
+        }
+        return mainInfo;
+    }
+
     /**
      * Retrieves a list of followers for the user with the specified `userId`.
      *
@@ -205,8 +267,15 @@ public class FollowerServiceImpl implements FollowerService {
     }
 
     private byte[] getUserImage(User user) {
-        return s3Service.getObject(s3Buckets.getCustomer(),
-                "user-profile-image/%s".formatted(user.getImageUrl())
-        );
+        return avatarService.getAvatar(user.getImageUrl());
+    }
+
+    private String getUserImageUrl(User user) {
+        return s3PresignService.presignGetObject(s3Buckets.getCustomer(), getUserImageKey(user));
+    }
+
+    private String getUserImageKey(User user) {
+        String imageId = user.getImageUrl() != null ? user.getImageUrl() : AvatarService.DEFAULT_AVATAR_ID;
+        return "user-profile-image/%s".formatted(imageId);
     }
 }
@@ -0,0 +1,20 @@
+package com.coinlift.backend.services.images;
+
+/**
+ * An image encoded and ready to be stored.
+ *
+ * @param content     The encoded image bytes.
+ * @param contentType The content type of the encoded bytes.
+ * @param width       The width of the image in pixels.
+ * @param height      The height of the image in pixels.
+ */
+public record EncodedImage(
+        byte[] content,
+
+        String contentType,
+
+        int width,
+
+        int height
+) {
+}
@@ -0,0 +1,253 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.exceptions.ImageTooLargeException;
+import com.coinlift.backend.exceptions.UnsupportedImageException;
+import lombok.extern.log4j.Log4j2;
+import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+@Component
+@Log4j2
+public class ImageProcessor {
+
+    private static final String FALLBACK_FORMAT = "jpeg";
+
+    // The placeholder is blurred anyway, so it is computed from a tiny copy of the smallest rendition
+    private static final int PLACEHOLDER_SIZE = 32;
+
+    private static final int PLACEHOLDER_COMPONENTS_X = 4;
+
+    private static final int PLACEHOLDER_COMPONENTS_Y = 3;
+
+    // Decoded images are held as packed RGB or ARGB ints
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final long maxPixels;
+
+    private final long maxDecodedBytes;
+
+    public ImageProcessor(@Value("${images.processing.max-pixels}") long maxPixels,
+                          @Value("${images.processing.heap-per-task}") DataSize heapPerTask) {
+        this.maxPixels = maxPixels;
+        // The other half is left for the scaled copies made while creating the renditions
+        this.maxDecodedBytes = heapPerTask.toBytes() / 2;
+    }
+
+    /**
+     * Checks that an uploaded image can be decoded within the pixel budget, reading only its header.
+     *
+     * @param file The file holding the uploaded image.
+     * @throws UnsupportedImageException if the file is not a supported image or its header cannot be decoded.
+     * @throws ImageTooLargeException    if the image has more pixels than {@code images.processing.max-pixels}.
+     * @throws RuntimeException          if an error occurs while reading the file.
+     */
+    public void checkDimensions(Path file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = getReader(input);
+            try {
+                checkPixelBudget(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IIOException e) {
+            // Raised by the image reader for a corrupt header, not by the file itself
+            throw new UnsupportedImageException("Corrupt image");
+        } catch (IOException e) {
+            log.error("Error reading image dimensions");
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates every {@link ImageRendition} of an uploaded image stored in a file.
+     *
+     * @param file        The file holding the uploaded image.
+     * @param contentType The content type of the uploaded image.
+     * @return The encoded renditions together with the placeholder and dimensions of the image.
+     * @see #createRenditions(InputStream, String)
+     */
+    public ProcessedImage createRenditions(Path file, String contentType) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            return createRenditions(input, contentType);
+        } catch (IOException e) {
+            log.error("Error creating image renditions");
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates every {@link ImageRendition} of an uploaded image.
+     * <p>
+     * The image dimensions are read from its header first, and images above the pixel budget are rejected before
+     * any pixel is decoded. The image is then decoded with source subsampling, skipping rows and columns so that
+     * it comes out no smaller than the {@link ImageRendition#FULL} rendition where that fits into half of
+     * {@code images.processing.heap-per-task}, and slightly smaller otherwise, which bounds the memory needed per
+     * image regardless of its original size. Renditions are produced from the largest to the smallest, each one
+     * scaled down from the previous one, and the BlurHash placeholder is computed from the smallest.
+     *
+     * @param content     The stream of the uploaded image, which is read but not closed.
+     * @param contentType The content type of the uploaded image.
+     * @return The encoded renditions together with the placeholder and dimensions of the image.
+     * @throws UnsupportedImageException if the content is not a supported image.
+     * @throws ImageTooLargeException    if the image has more pixels than {@code images.processing.max-pixels}.
+     * @throws RuntimeException          if an error occurs while processing the image.
+     */
+    public ProcessedImage createRenditions(InputStream content, String contentType) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            return createRenditions(input, contentType);
+        } catch (IOException e) {
+            log.error("Error creating image renditions");
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ProcessedImage createRenditions(ImageInputStream input, String contentType) throws IOException {
+        String format = getImageFormat(contentType);
+        BufferedImage image = decode(input);
+
+        Map<ImageRendition, EncodedImage> renditions = new EnumMap<>(ImageRendition.class);
+        ImageRendition[] sizes = ImageRendition.values();
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = resize(image, sizes[i]);
+            renditions.put(sizes[i], encode(image, format));
+        }
+
+        EncodedImage full = renditions.get(ImageRendition.FULL);
+        return new ProcessedImage(renditions, createPlaceholder(image), full.width(), full.height());
+    }
+
+    private String createPlaceholder(BufferedImage image) {
+        BufferedImage tiny = Scalr.resize(image, Scalr.Method.SPEED, PLACEHOLDER_SIZE, PLACEHOLDER_SIZE);
+        return BlurHash.encode(tiny, PLACEHOLDER_COMPONENTS_X, PLACEHOLDER_COMPONENTS_Y);
+    }
+
+    private BufferedImage decode(ImageInputStream input) throws IOException {
+        ImageReader reader = getReader(input);
+        try {
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            checkPixelBudget(width, height);
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            int subsampling = getSubsampling(width, height, ImageRendition.FULL);
+            if (subsampling > 1) {
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            }
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private ImageReader getReader(ImageInputStream input) {
+        if (input == null) {
+            throw new UnsupportedImageException("Unsupported image format");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            throw new UnsupportedImageException("Unsupported image format");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private void checkPixelBudget(int width, int height) {
+        if ((long) width * height > maxPixels) {
+            throw new ImageTooLargeException("Image of %dx%d pixels exceeds the limit of %d pixels"
+                    .formatted(width, height, maxPixels));
+        }
+    }
+
+    private int getSubsampling(int width, int height, ImageRendition target) {
+        // The largest factor that still leaves the decoded image at least as large as the target rendition. Rounding
+        // down can leave almost twice the target size on each side, so the factor grows until the raster fits.
+        double ratio = Math.max((double) width / target.getMaxWidth(), (double) height / target.getMaxHeight());
+        int subsampling = Math.max((int) ratio, 1);
+        while (getDecodedBytes(width, height, subsampling) > maxDecodedBytes && subsampling < ratio) {
+            subsampling++;
+        }
+        return subsampling;
+    }
+
+    private long getDecodedBytes(int width, int height, int subsampling) {
+        long decodedWidth = (width + subsampling - 1) / subsampling;
+        long decodedHeight = (height + subsampling - 1) / subsampling;
+        return decodedWidth * decodedHeight * BYTES_PER_PIXEL;
+    }
+
+    private BufferedImage resize(BufferedImage image, ImageRendition rendition) {
+        if (image.getWidth() <= rendition.getMaxWidth() && image.getHeight() <= rendition.getMaxHeight()) {
+            return image;
+        }
+        // Scalr's automatic mode fits landscape images to the width only, which can leave them taller than the box
+        double scale = Math.min((double) rendition.getMaxWidth() / image.getWidth(),
+                (double) rendition.getMaxHeight() / image.getHeight());
+        int width = (int) Math.max(Math.round(image.getWidth() * scale), 1);
+        int height = (int) Math.max(Math.round(image.getHeight() * scale), 1);
+        return Scalr.resize(image, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, width, height);
+    }
+
+    private EncodedImage encode(BufferedImage image, String format) throws IOException {
+        if (FALLBACK_FORMAT.equals(format) && image.getColorModel().hasAlpha()) {
+            // The JPEG writer rejects rasters with an alpha channel
+            image = toRgb(image);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        if (!write(image, format, outputStream)) {
+            // No writer for the upload format (e.g. webp) or for this color model, store it as an opaque JPEG
+            outputStream.reset();
+            format = FALLBACK_FORMAT;
+            if (!ImageIO.write(toRgb(image), format, outputStream)) {
+                throw new IOException("No %s writer available".formatted(format));
+            }
+        }
+        return new EncodedImage(outputStream.toByteArray(), "image/" + format, image.getWidth(), image.getHeight());
+    }
+
+    private boolean write(BufferedImage image, String format, ByteArrayOutputStream outputStream) {
+        try {
+            return ImageIO.write(image, format, outputStream);
+        } catch (IOException e) {
+            // Writing to memory only fails when the writer cannot handle the image
+            log.debug("Could not encode image as {}", format, e);
+            return false;
+        }
+    }
+
+    private BufferedImage toRgb(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+        return rgb;
+    }
+
+    private String getImageFormat(String contentType) {
+        String[] parts = contentType == null ? new String[0] : contentType.split("/");
+
+        if (parts.length != 2 || !"image".equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid format string: " + contentType);
+        }
+
+        return parts[1];
+    }
+}
@@ -0,0 +1,107 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.entities.Post;
+
+/**
+ * The sizes every post image is stored in. Each rendition fits inside its bounding box while keeping the
+ * aspect ratio of the original, and images are never scaled up.
+ */
+public enum ImageRendition {
+
+    THUMBNAIL("thumbnail", 320, 190),
+    FEED("feed", 683, 407),
+    FULL("full", 1920, 1920);
+
+    private final String name;
+
+    private final int maxWidth;
+
+    private final int maxHeight;
+
+    ImageRendition(String name, int maxWidth, int maxHeight) {
+        this.name = name;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Builds the S3 key of this rendition of a post image.
+     *
+     * @param imageId The ID of the post image.
+     * @return The S3 key of the rendition.
+     */
+    public String key(String imageId) {
+        return "post-image/%s/%s".formatted(imageId, name);
+    }
+
+    /**
+     * Builds the S3 key of this rendition of a content-addressed image.
+     *
+     * @param hash The content hash of the image.
+     * @return The S3 key of the rendition.
+     */
+    public String hashKey(String hash) {
+        return "images/%s/%s".formatted(hash, name);
+    }
+
+    /**
+     * Builds the S3 key this rendition of the image of a post is read from. Posts uploaded before renditions
+     * existed only have their original image, which stands in for every rendition.
+     *
+     * @param post The post, which must have an image.
+     * @return The S3 key of the rendition.
+     */
+    public String key(Post post) {
+        if (post.getImageHash() != null) {
+            return hashKey(post.getImageHash());
+        }
+        return post.isImageRenditions()
+                ? key(post.getImageLink())
+                : "post-image/%s".formatted(post.getImageLink());
+    }
+
+    /**
+     * Looks a rendition up by its name.
+     *
+     * @param name The name of the rendition.
+     * @return The rendition, or null if there is none with this name.
+     */
+    public static ImageRendition fromName(String name) {
+        for (ImageRendition rendition : values()) {
+            if (rendition.name.equals(name)) {
+                return rendition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the smallest rendition that is at least as wide as the requested display width.
+     *
+     * @param width The width the image is displayed at, or null if unknown.
+     * @return The smallest fitting rendition, {@link #FEED} if no width was given, or {@link #FULL} if none fits.
+     */
+    public static ImageRendition smallestFitting(Integer width) {
+        if (width == null) {
+            return FEED;
+        }
+        for (ImageRendition rendition : values()) {
+            if (rendition.maxWidth >= width) {
+                return rendition;
+            }
+        }
+        return FULL;
+    }
+}
@@ -0,0 +1,19 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.services.s3.StoredObject;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ImageStorageService {
+
+    String store(Map<ImageRendition, EncodedImage> renditions);
+
+    void release(String hash);
+
+    void deleteUnreferenced(String hash);
+
+    List<String> findUnreferenced(int limit);
+
+    StoredObject getImage(String hash, ImageRendition rendition);
+}
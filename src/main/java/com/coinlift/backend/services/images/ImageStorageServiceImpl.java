@@ -0,0 +1,136 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.entities.Image;
+import com.coinlift.backend.exceptions.ResourceNotFoundException;
+import com.coinlift.backend.repositories.ImageRepository;
+import com.coinlift.backend.services.s3.S3Service;
+import com.coinlift.backend.services.s3.StoredObject;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Log4j2
+public class ImageStorageServiceImpl implements ImageStorageService {
+
+    private final ImageRepository imageRepository;
+
+    private final S3Service s3Service;
+
+    private final S3Buckets s3Buckets;
+
+    public ImageStorageServiceImpl(ImageRepository imageRepository, S3Service s3Service, S3Buckets s3Buckets) {
+        this.imageRepository = imageRepository;
+        this.s3Service = s3Service;
+        this.s3Buckets = s3Buckets;
+    }
+
+    /**
+     * Stores the renditions of an image under the SHA-256 hash of its full rendition and takes a reference to it.
+     * <p>
+     * If an identical image is already stored, only its reference count is incremented and nothing is uploaded.
+     * Otherwise the renditions are uploaded first and the image row is created afterwards, so a stored row always
+     * points at existing objects.
+     *
+     * @param renditions The encoded renditions of the image.
+     * @return The hash the image is stored under.
+     */
+    @Override
+    public String store(Map<ImageRendition, EncodedImage> renditions) {
+        EncodedImage full = renditions.get(ImageRendition.FULL);
+        String hash = sha256(full.content());
+
+        if (imageRepository.incrementRefCount(hash) > 0) {
+            log.debug("Image {} is already stored, skipping upload", hash);
+            return hash;
+        }
+
+        renditions.forEach((rendition, image) -> s3Service.putObject(
+                s3Buckets.getCustomer(),
+                rendition.hashKey(hash),
+                image.content(),
+                image.contentType()
+        ));
+        imageRepository.insertOrIncrementRefCount(hash, full.contentType(), full.width(), full.height());
+        return hash;
+    }
+
+    /**
+     * Drops a reference to a stored image.
+     * <p>
+     * Only the reference count is decremented, within the caller's transaction if there is one, so the reference
+     * can be dropped together with the row that held it. The objects of an image that is no longer referenced are
+     * deleted by {@link #deleteUnreferenced(String)}.
+     *
+     * @param hash The hash of the image.
+     */
+    @Override
+    public void release(String hash) {
+        imageRepository.decrementRefCount(hash);
+    }
+
+    /**
+     * Deletes the objects and the row of a stored image if nothing refers to it anymore.
+     * <p>
+     * The image row stays locked while the objects are deleted, so a concurrent {@link #store(Map)} of the same
+     * image waits and then uploads it again instead of reusing objects that are being deleted. If a deletion fails,
+     * the row is kept and the image is returned by {@link #findUnreferenced(int)} until it is deleted.
+     *
+     * @param hash The hash of the image.
+     */
+    @Override
+    @Transactional
+    public void deleteUnreferenced(String hash) {
+        Image image = imageRepository.findByHashForUpdate(hash).orElse(null);
+        if (image == null || image.getRefCount() > 0) {
+            return;
+        }
+
+        for (ImageRendition rendition : ImageRendition.values()) {
+            s3Service.deleteObject(s3Buckets.getCustomer(), rendition.hashKey(hash));
+        }
+        imageRepository.delete(image);
+    }
+
+    /**
+     * Finds stored images that nothing refers to anymore, oldest first.
+     *
+     * @param limit The maximum number of images to return.
+     * @return The hashes of the unreferenced images.
+     */
+    @Override
+    public List<String> findUnreferenced(int limit) {
+        return imageRepository.findUnreferenced(limit);
+    }
+
+    /**
+     * Opens a stream to a rendition of a stored image.
+     *
+     * @param hash      The hash of the image.
+     * @param rendition The rendition to open.
+     * @return The {@link StoredObject} holding the image stream and its metadata.
+     * @throws ResourceNotFoundException if no image is stored under the hash.
+     */
+    @Override
+    public StoredObject getImage(String hash, ImageRendition rendition) {
+        if (!imageRepository.existsById(hash)) {
+            throw new ResourceNotFoundException("image [%s] not found".formatted(hash));
+        }
+        return s3Service.getObjectStream(s3Buckets.getCustomer(), rendition.hashKey(hash));
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.repositories.ImageRepository;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.avatars.AvatarService;
+import com.coinlift.backend.services.s3.ObjectSummary;
+import com.coinlift.backend.services.s3.S3Service;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Deletes image objects that no row refers to anymore, left behind by failed deletes and by uploads whose post
+ * was never saved.
+ * <p>
+ * Each run pages through the image prefixes of the bucket and looks up the ids of every page in the database at
+ * once. Objects younger than {@code images.gc.min-age} are skipped, since images are uploaded before the row that
+ * refers to them is written. Orphans are removed with batched {@code DeleteObjects} requests, paced to
+ * {@code images.gc.max-deletes-per-second}. In dry-run mode they are only logged.
+ */
+@Component
+@Log4j2
+@ConditionalOnProperty(name = "images.gc.enabled", havingValue = "true")
+public class OrphanedImageCleanupJob {
+
+    private static final String AVATAR_PREFIX = "user-profile-image/";
+
+    private final S3Service s3Service;
+
+    private final S3Buckets s3Buckets;
+
+    private final PostRepository postRepository;
+
+    private final UserRepository userRepository;
+
+    private final ImageRepository imageRepository;
+
+    private final AvatarService avatarService;
+
+    private final Duration minAge;
+
+    private final int maxDeletesPerSecond;
+
+    private final boolean dryRun;
+
+    public OrphanedImageCleanupJob(S3Service s3Service, S3Buckets s3Buckets, PostRepository postRepository,
+                                   UserRepository userRepository, ImageRepository imageRepository,
+                                   AvatarService avatarService,
+                                   @Value("${images.gc.min-age}") Duration minAge,
+                                   @Value("${images.gc.max-deletes-per-second}") int maxDeletesPerSecond,
+                                   @Value("${images.gc.dry-run}") boolean dryRun) {
+        this.s3Service = s3Service;
+        this.s3Buckets = s3Buckets;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.imageRepository = imageRepository;
+        this.avatarService = avatarService;
+        this.minAge = minAge;
+        this.maxDeletesPerSecond = maxDeletesPerSecond;
+        this.dryRun = dryRun;
+    }
+
+    @Scheduled(fixedDelayString = "${images.gc.interval}", initialDelayString = "${images.gc.interval}")
+    public void collect() {
+        Instant cutoff = Instant.now().minus(minAge);
+        try {
+            // Covers both original images (post-image/{id}) and per-post renditions (post-image/{id}/{rendition})
+            collect("post-image/", cutoff, postRepository::findImageLinksIn);
+            collect("images/", cutoff, imageRepository::findHashesIn);
+            collect(AVATAR_PREFIX, cutoff, this::findReferencedAvatars);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collect(String prefix, Instant cutoff, Function<Collection<String>, Set<String>> findReferenced)
+            throws InterruptedException {
+        String bucket = s3Buckets.getCustomer();
+        int orphaned = 0;
+        int deleted = 0;
+
+        Iterator<List<ObjectSummary>> pages = s3Service.listObjects(bucket, prefix).iterator();
+        while (pages.hasNext()) {
+            List<String> orphans = findOrphans(prefix, pages.next(), cutoff, findReferenced);
+            if (orphans.isEmpty()) {
+                continue;
+            }
+
+            orphaned += orphans.size();
+            if (dryRun) {
+                orphans.forEach(key -> log.info("Would delete orphaned image {}", key));
+                continue;
+            }
+            deleted += s3Service.deleteObjects(bucket, orphans);
+            if (AVATAR_PREFIX.equals(prefix)) {
+                orphans.forEach(key -> avatarService.evict(getId(prefix, key)));
+            }
+            Thread.sleep(orphans.size() * 1000L / maxDeletesPerSecond);
+        }
+
+        log.info("Found {} orphaned images under {}, deleted {}{}", orphaned, prefix, deleted, dryRun ? " (dry run)" : "");
+    }
+
+    private List<String> findOrphans(String prefix, List<ObjectSummary> page, Instant cutoff,
+                                     Function<Collection<String>, Set<String>> findReferenced) {
+        Map<String, String> idsByKey = new HashMap<>();
+        for (ObjectSummary object : page) {
+            if (object.lastModified().isBefore(cutoff)) {
+                idsByKey.put(object.key(), getId(prefix, object.key()));
+            }
+        }
+        if (idsByKey.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> referenced = findReferenced.apply(Set.copyOf(idsByKey.values()));
+        List<String> orphans = new ArrayList<>();
+        idsByKey.forEach((key, id) -> {
+            if (!referenced.contains(id)) {
+                orphans.add(key);
+            }
+        });
+        return orphans;
+    }
+
+    private Set<String> findReferencedAvatars(Collection<String> imageIds) {
+        Set<String> referenced = new HashSet<>(userRepository.findImageUrlsIn(imageIds));
+        referenced.add(AvatarService.DEFAULT_AVATAR_ID);
+        return referenced;
+    }
+
+    private String getId(String prefix, String key) {
+        String rest = key.substring(prefix.length());
+        int end = rest.indexOf('/');
+        return end < 0 ? rest : rest.substring(0, end);
+    }
+}
@@ -0,0 +1,17 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.entities.Post;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+public interface PostImageService {
+
+    void processPostImage(UUID postId, UUID authorId, Path upload, String contentType);
+
+    void processUploadedImage(UUID postId, UUID authorId, String uploadKey, String contentType);
+
+    void releasePostImage(Post post);
+
+    void deletePostImage(Post post);
+}
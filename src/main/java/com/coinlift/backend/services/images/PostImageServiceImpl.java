@@ -0,0 +1,189 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.config.CacheConfig;
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.dtos.posts.PostImageStatusDto;
+import com.coinlift.backend.entities.ImageStatus;
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.services.s3.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@Service
+@Log4j2
+public class PostImageServiceImpl implements PostImageService {
+
+    private final PostRepository postRepository;
+
+    private final ImageProcessor imageProcessor;
+
+    private final ImageStorageService imageStorageService;
+
+    private final S3Service s3Service;
+
+    private final S3Buckets s3Buckets;
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Timer processingTimer;
+
+    public PostImageServiceImpl(PostRepository postRepository, ImageProcessor imageProcessor, ImageStorageService imageStorageService, S3Service s3Service, S3Buckets s3Buckets, SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.imageProcessor = imageProcessor;
+        this.imageStorageService = imageStorageService;
+        this.s3Service = s3Service;
+        this.s3Buckets = s3Buckets;
+        this.messagingTemplate = messagingTemplate;
+        this.processingTimer = meterRegistry.timer("images.processing.duration");
+    }
+
+    /**
+     * Creates and stores the renditions of a post image that was saved in the {@link ImageStatus#PROCESSING} state,
+     * then marks the image as ready or failed and notifies the author on {@code /user/queue/posts}.
+     * <p>
+     * The renditions are stored by content hash, so an image that is already stored is not uploaded again. The
+     * uploaded file is deleted once it has been processed. If the post was removed in the meantime, its reference
+     * to the stored image is released again.
+     *
+     * @param postId      The ID of the post the image belongs to.
+     * @param authorId    The ID of the user who created the post.
+     * @param upload      The temporary file holding the uploaded image.
+     * @param contentType The content type of the uploaded image.
+     */
+    @Override
+    @Async("imageProcessingExecutor")
+    @CacheEvict(cacheNames = CacheConfig.LATEST_POSTS, allEntries = true)
+    public void processPostImage(UUID postId, UUID authorId, Path upload, String contentType) {
+        process(postId, authorId, () -> imageProcessor.createRenditions(upload, contentType),
+                () -> deleteUpload(upload));
+    }
+
+    /**
+     * Creates and stores the renditions of a post image that the client uploaded to S3 directly, then marks the
+     * image as ready or failed and notifies the author on {@code /user/queue/posts}.
+     * <p>
+     * The uploaded object is deleted once it has been processed.
+     *
+     * @param postId      The ID of the post the image belongs to.
+     * @param authorId    The ID of the user who created the post.
+     * @param uploadKey   The S3 key the client uploaded the image to.
+     * @param contentType The content type of the uploaded image.
+     */
+    @Override
+    @Async("imageProcessingExecutor")
+    @CacheEvict(cacheNames = CacheConfig.LATEST_POSTS, allEntries = true)
+    public void processUploadedImage(UUID postId, UUID authorId, String uploadKey, String contentType) {
+        process(postId, authorId, () -> {
+            try (InputStream content = s3Service.openObject(s3Buckets.getCustomer(), uploadKey).content().getInputStream()) {
+                return imageProcessor.createRenditions(content, contentType);
+            }
+        }, () -> deleteUploadedObject(uploadKey));
+    }
+
+    /**
+     * Drops the reference a removed post holds to an image stored by content hash. This only updates the reference
+     * count and is meant to run in the transaction that deletes the post row; the objects are deleted afterwards by
+     * {@link #deletePostImage(Post)}.
+     *
+     * @param post The removed post.
+     */
+    @Override
+    public void releasePostImage(Post post) {
+        if (post.getImageHash() != null) {
+            imageStorageService.release(post.getImageHash());
+        }
+    }
+
+    /**
+     * Deletes the image of a post that has been removed. An image stored by content hash is only deleted once
+     * {@link #releasePostImage(Post)} has dropped the last reference to it, since other posts may still refer to it;
+     * images stored per post are deleted with all their renditions.
+     *
+     * @param post The removed post.
+     */
+    @Override
+    public void deletePostImage(Post post) {
+        String imageLink = post.getImageLink();
+        if (imageLink == null || imageLink.isBlank()) {
+            return;
+        }
+
+        if (post.getImageHash() != null) {
+            imageStorageService.deleteUnreferenced(post.getImageHash());
+        } else if (post.isImageRenditions()) {
+            for (ImageRendition rendition : ImageRendition.values()) {
+                s3Service.deleteObject(s3Buckets.getCustomer(), rendition.key(imageLink));
+            }
+        } else {
+            s3Service.deleteObject(s3Buckets.getCustomer(), "post-image/%s".formatted(imageLink));
+        }
+    }
+
+    private void process(UUID postId, UUID authorId, RenditionSource source, Runnable cleanup) {
+        ProcessedImage image = null;
+        String imageHash = null;
+        Timer.Sample sample = Timer.start();
+        try {
+            image = source.createRenditions();
+            imageHash = imageStorageService.store(image.renditions());
+        } catch (RuntimeException | IOException e) {
+            log.warn("Could not process image of post {}", postId, e);
+        } finally {
+            sample.stop(processingTimer);
+            cleanup.run();
+        }
+
+        ImageStatus status = imageHash != null ? ImageStatus.READY : ImageStatus.FAILED;
+        int updated = imageHash != null
+                ? postRepository.completeImage(postId, imageHash, status, image.placeholder(), image.width(), image.height())
+                : postRepository.updateImageStatus(postId, status);
+        if (updated == 0) {
+            log.debug("Post {} was removed while its image was processed", postId);
+            if (imageHash != null) {
+                imageStorageService.release(imageHash);
+                imageStorageService.deleteUnreferenced(imageHash);
+            }
+            return;
+        }
+
+        messagingTemplate.convertAndSendToUser(
+                authorId.toString(),
+                "/queue/posts",
+                new PostImageStatusDto(postId, status)
+        );
+    }
+
+    private void deleteUpload(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}", upload, e);
+        }
+    }
+
+    private void deleteUploadedObject(String uploadKey) {
+        try {
+            s3Service.deleteObject(s3Buckets.getCustomer(), uploadKey);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete uploaded object {}", uploadKey, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RenditionSource {
+
+        ProcessedImage createRenditions() throws IOException;
+    }
+}
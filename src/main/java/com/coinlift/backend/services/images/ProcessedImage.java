@@ -0,0 +1,22 @@
+package com.coinlift.backend.services.images;
+
+import java.util.Map;
+
+/**
+ * The result of processing an uploaded image.
+ *
+ * @param renditions  The encoded renditions keyed by rendition.
+ * @param placeholder The BlurHash of the image, shown by clients while a rendition loads.
+ * @param width       The width of the {@link ImageRendition#FULL} rendition in pixels.
+ * @param height      The height of the {@link ImageRendition#FULL} rendition in pixels.
+ */
+public record ProcessedImage(
+        Map<ImageRendition, EncodedImage> renditions,
+
+        String placeholder,
+
+        int width,
+
+        int height
+) {
+}
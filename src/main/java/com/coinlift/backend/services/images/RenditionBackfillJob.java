@@ -0,0 +1,107 @@
+package com.coinlift.backend.services.images;
+
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.services.pagination.Cursor;
+import com.coinlift.backend.services.s3.S3Service;
+import com.coinlift.backend.services.s3.StoredObject;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Creates the renditions of post images uploaded before renditions existed. Each run processes one batch and
+ * remembers where it stopped, so images that fail are skipped until the next pass over the table.
+ */
+@Component
+@Log4j2
+@ConditionalOnProperty(name = "images.renditions.backfill.enabled", havingValue = "true")
+public class RenditionBackfillJob {
+
+    private static final String LEGACY_CONTENT_TYPE = "image/jpeg";
+
+    private final PostRepository postRepository;
+
+    private final S3Service s3Service;
+
+    private final S3Buckets s3Buckets;
+
+    private final ImageProcessor imageProcessor;
+
+    private final ImageStorageService imageStorageService;
+
+    private final int batchSize;
+
+    private Cursor position;
+
+    public RenditionBackfillJob(PostRepository postRepository, S3Service s3Service, S3Buckets s3Buckets,
+                                ImageProcessor imageProcessor, ImageStorageService imageStorageService,
+                                @Value("${images.renditions.backfill.batch-size}") int batchSize) {
+        this.postRepository = postRepository;
+        this.s3Service = s3Service;
+        this.s3Buckets = s3Buckets;
+        this.imageProcessor = imageProcessor;
+        this.imageStorageService = imageStorageService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${images.renditions.backfill.interval}")
+    public void backfill() {
+        PageRequest batch = PageRequest.of(0, batchSize);
+        List<Post> posts = position == null
+                ? postRepository.findWithoutImageRenditions(batch)
+                : postRepository.findWithoutImageRenditionsAfter(position.createdAt(), position.id(), batch);
+
+        if (posts.isEmpty()) {
+            position = null;
+            return;
+        }
+
+        int converted = 0;
+        for (Post post : posts) {
+            try {
+                createRenditions(post);
+                converted++;
+            } catch (RuntimeException | IOException e) {
+                log.warn("Could not create renditions for post {}", post.getId(), e);
+            }
+        }
+        Post last = posts.get(posts.size() - 1);
+        position = new Cursor(last.getCreatedAt(), last.getId());
+
+        log.info("Created image renditions for {} of {} posts", converted, posts.size());
+    }
+
+    private void createRenditions(Post post) throws IOException {
+        String bucket = s3Buckets.getCustomer();
+        String legacyKey = "post-image/%s".formatted(post.getImageLink());
+
+        ProcessedImage image;
+        StoredObject original = s3Service.openObject(bucket, legacyKey);
+        try (InputStream content = original.content().getInputStream()) {
+            image = imageProcessor.createRenditions(content, getContentType(original));
+        }
+
+        String imageHash = imageStorageService.store(image.renditions());
+        if (postRepository.markImageStored(post.getId(), imageHash, image.placeholder(), image.width(), image.height()) == 0) {
+            imageStorageService.release(imageHash);
+            imageStorageService.deleteUnreferenced(imageHash);
+            return;
+        }
+        s3Service.deleteObject(bucket, legacyKey);
+    }
+
+    private String getContentType(StoredObject original) {
+        // Older uploads were stored without a content type, ImageIO detects the actual format from the bytes
+        String contentType = original.contentType();
+        return contentType != null && contentType.startsWith("image/") ? contentType : LEGACY_CONTENT_TYPE;
+    }
+}
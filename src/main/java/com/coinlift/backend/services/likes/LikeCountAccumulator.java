@@ -0,0 +1,129 @@
+package com.coinlift.backend.services.likes;
+
+import com.coinlift.backend.repositories.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Buffers the like count changes of hot posts and writes them to the database in batches.
+ * <p>
+ * Likes are counted in one of several stripes picked by the calling thread, so threads liking the same post do not
+ * contend on one lock or one row. Each flush swaps the stripes out and writes the summed change of every buffered
+ * post with a single atomic update. Posts that got at least {@code likes.counter.hot-threshold} likes since the
+ * previous flush are hot until the next one; changes of all other posts are written by the caller right away.
+ */
+@Component
+@Log4j2
+public class LikeCountAccumulator {
+
+    private final PostRepository postRepository;
+
+    private final int hotThreshold;
+
+    private final Stripe[] stripes;
+
+    private volatile Set<UUID> hotPosts = Set.of();
+
+    public LikeCountAccumulator(PostRepository postRepository,
+                                @Value("${likes.counter.hot-threshold}") int hotThreshold) {
+        this.postRepository = postRepository;
+        this.hotThreshold = hotThreshold;
+        this.stripes = new Stripe[Runtime.getRuntime().availableProcessors() * 2];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isHot(UUID postId) {
+        return hotPosts.contains(postId);
+    }
+
+    /**
+     * Counts a like that was already written to the database towards the post becoming hot.
+     *
+     * @param postId The ID of the liked post.
+     */
+    public void record(UUID postId) {
+        update(postId, 0);
+    }
+
+    /**
+     * Buffers a change of the like count of a post until the next flush.
+     *
+     * @param postId The ID of the post.
+     * @param delta  The change of its like count.
+     */
+    public void add(UUID postId, int delta) {
+        update(postId, delta);
+    }
+
+    @Scheduled(fixedDelayString = "${likes.counter.flush-interval}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<UUID, Counts> merged = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<UUID, Counts> counts;
+            synchronized (stripe) {
+                counts = stripe.counts;
+                stripe.counts = new HashMap<>();
+            }
+            counts.forEach((postId, c) -> merged.merge(postId, c, Counts::merge));
+        }
+
+        Set<UUID> hot = new HashSet<>();
+        merged.forEach((postId, counts) -> {
+            if (counts.likes >= hotThreshold) {
+                hot.add(postId);
+            }
+            if (counts.delta != 0) {
+                write(postId, counts.delta);
+            }
+        });
+        hotPosts = hot;
+    }
+
+    private void write(UUID postId, long delta) {
+        try {
+            postRepository.updateLikeCount(postId, Math.toIntExact(delta));
+        } catch (RuntimeException e) {
+            log.warn("Could not update like count of post {}, retrying with the next flush", postId, e);
+            update(postId, Math.toIntExact(delta));
+        }
+    }
+
+    private void update(UUID postId, int delta) {
+        Stripe stripe = stripes[Math.floorMod(Thread.currentThread().getId(), stripes.length)];
+        synchronized (stripe) {
+            Counts counts = stripe.counts.computeIfAbsent(postId, id -> new Counts());
+            counts.likes++;
+            counts.delta += delta;
+        }
+    }
+
+    private static final class Stripe {
+
+        private Map<UUID, Counts> counts = new HashMap<>();
+    }
+
+    private static final class Counts {
+
+        private long likes;
+
+        private long delta;
+
+        private Counts merge(Counts other) {
+            likes += other.likes;
+            delta += other.delta;
+            return this;
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.coinlift.backend.services.likes;
 
+import com.coinlift.backend.entities.Post;
+
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface LikeService {
@@ -7,4 +11,6 @@ public interface LikeService {
     void addLike(UUID postId);
 
     void removeLike(UUID postId);
+
+    Set<UUID> getLikedPostIds(UUID userId, List<Post> posts);
 }
@@ -1,6 +1,5 @@
 package com.coinlift.backend.services.likes;
 
-import com.coinlift.backend.entities.Like;
 import com.coinlift.backend.entities.Post;
 import com.coinlift.backend.entities.notification.EventType;
 import com.coinlift.backend.entities.user.MyUserDetails;
@@ -15,7 +14,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -24,52 +29,120 @@ public class LikeServiceImpl implements LikeService {
     private final LikeRepository likeRepository;
     private final PostRepository postRepository;
     private final NotificationService notificationService;
+    private final LikeCountAccumulator likeCountAccumulator;
+    private final LikedPostsCache likedPostsCache;
 
-    public LikeServiceImpl(LikeRepository likeRepository, PostRepository postRepository, NotificationService notificationService) {
+    public LikeServiceImpl(LikeRepository likeRepository, PostRepository postRepository, NotificationService notificationService, LikeCountAccumulator likeCountAccumulator, LikedPostsCache likedPostsCache) {
         this.likeRepository = likeRepository;
         this.postRepository = postRepository;
         this.notificationService = notificationService;
+        this.likeCountAccumulator = likeCountAccumulator;
+        this.likedPostsCache = likedPostsCache;
     }
 
+    /**
+     * Likes a post for the authenticated user.
+     * <p>
+     * The like count is changed with an atomic update, or buffered by {@link LikeCountAccumulator} while the post
+     * is hot, so concurrent likes are never lost.
+     *
+     * @param postId The ID of the post to like.
+     * @throws ResourceNotFoundException if the post is not found.
+     * @throws IllegalArgumentException  if the user already likes the post.
+     */
     @Override
     @Transactional
     public void addLike(UUID postId) {
         User user = getUser();
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post with id " + postId + " not found"));
+        Post post = getPost(postId);
 
-        if (likeRepository.existsByUserAndPostId(user, postId)) {
+        if (likeRepository.insertIfAbsent(user.getId(), postId) == 0) {
             throw new IllegalArgumentException("You already like this post!");
         }
-
-        Like like = new Like();
-        like.setPost(post);
-        like.setUser(user);
-
-        post.setLikeCount(post.getLikeCount() + 1);
-
-        likeRepository.save(like);
-        postRepository.save(post);
+        updateLikeCount(postId, 1);
+        afterCommit(() -> likedPostsCache.update(user.getId(), postId, true));
 
         notificationService.notifyUser(user.getUsername(), post.getUser().getId(), EventType.LIKE);
     }
 
+    /**
+     * Removes the like of the authenticated user from a post.
+     *
+     * @param postId The ID of the post.
+     * @throws ResourceNotFoundException if the post is not found.
+     * @throws IllegalArgumentException  if the user does not like the post.
+     */
     @Override
     @Transactional
     public void removeLike(UUID postId) {
         User user = getUser();
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("Post with id " + postId + " not found"));
+        getPost(postId);
 
-        Like like = likeRepository.getLikeByUserAndPostId(user, postId);
-        if (like == null) {
+        if (likeRepository.deleteByUserIdAndPostId(user.getId(), postId) == 0) {
             throw new IllegalArgumentException("You can't remove like from this post!");
         }
+        updateLikeCount(postId, -1);
+        afterCommit(() -> likedPostsCache.update(user.getId(), postId, false));
+    }
+
+    /**
+     * Finds which posts of a page a user likes.
+     * <p>
+     * Recent posts are answered from {@link LikedPostsCache} when it is enabled, the remaining posts are looked up
+     * with a single query.
+     *
+     * @param userId The ID of the user, or null for anonymous requests.
+     * @param posts  The posts of the page.
+     * @return The IDs of the posts the user likes.
+     */
+    @Override
+    public Set<UUID> getLikedPostIds(UUID userId, List<Post> posts) {
+        if (userId == null || posts.isEmpty()) {
+            return Set.of();
+        }
+
+        LikedPostIds recent = likedPostsCache.get(userId);
+        Set<UUID> liked = new HashSet<>();
+        List<UUID> uncached = new ArrayList<>();
+        for (Post post : posts) {
+            if (recent != null && recent.covers(post.getCreatedAt())) {
+                if (recent.contains(post.getId())) {
+                    liked.add(post.getId());
+                }
+            } else {
+                uncached.add(post.getId());
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            liked.addAll(likeRepository.findLikedPostIds(userId, uncached));
+        }
+        return liked;
+    }
+
+    private Post getPost(UUID postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post with id " + postId + " not found"));
+    }
+
+    private void updateLikeCount(UUID postId, int delta) {
+        if (!likeCountAccumulator.isHot(postId)) {
+            postRepository.updateLikeCount(postId, delta);
+            likeCountAccumulator.record(postId);
+            return;
+        }
 
-        post.setLikeCount(post.getLikeCount() - 1);
+        // Buffered only once the like itself is committed, so a rollback cannot leave the count off
+        afterCommit(() -> likeCountAccumulator.add(postId, delta));
+    }
 
-        likeRepository.delete(like);
-        postRepository.save(post);
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private User getUser() {
@@ -0,0 +1,104 @@
+package com.coinlift.backend.services.likes;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Immutable set of the posts a user likes among the posts created since a point in time.
+ * <p>
+ * The ids are kept as sorted pairs of longs in a single array, which takes 16 bytes per post instead of the
+ * roughly 80 bytes of a {@code HashSet<UUID>} entry, and are looked up by binary search.
+ */
+final class LikedPostIds {
+
+    // Covers no post, used for users who like too many recent posts to cache
+    static final LikedPostIds NONE = new LikedPostIds(LocalDateTime.MAX, new long[0]);
+
+    private final LocalDateTime since;
+
+    private final long[] ids;
+
+    private LikedPostIds(LocalDateTime since, long[] ids) {
+        this.since = since;
+        this.ids = ids;
+    }
+
+    static LikedPostIds of(LocalDateTime since, Collection<UUID> postIds) {
+        UUID[] sorted = postIds.toArray(UUID[]::new);
+        Arrays.sort(sorted);
+
+        long[] ids = new long[sorted.length * 2];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i * 2] = sorted[i].getMostSignificantBits();
+            ids[i * 2 + 1] = sorted[i].getLeastSignificantBits();
+        }
+        return new LikedPostIds(since, ids);
+    }
+
+    /**
+     * Tells whether this set knows about a post, which is the case for posts created since it was loaded from.
+     */
+    boolean covers(LocalDateTime postCreatedAt) {
+        return postCreatedAt != null && !postCreatedAt.isBefore(since);
+    }
+
+    boolean contains(UUID postId) {
+        return indexOf(postId) >= 0;
+    }
+
+    int size() {
+        return ids.length / 2;
+    }
+
+    /**
+     * Returns a copy of this set with a post added or removed.
+     */
+    LikedPostIds with(UUID postId, boolean liked) {
+        int index = indexOf(postId);
+        if (liked == index >= 0 || this == NONE) {
+            return this;
+        }
+
+        long[] updated;
+        if (liked) {
+            int insertAt = -(index + 1) * 2;
+            updated = new long[ids.length + 2];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = postId.getMostSignificantBits();
+            updated[insertAt + 1] = postId.getLeastSignificantBits();
+            System.arraycopy(ids, insertAt, updated, insertAt + 2, ids.length - insertAt);
+        } else {
+            int removeAt = index * 2;
+            updated = new long[ids.length - 2];
+            System.arraycopy(ids, 0, updated, 0, removeAt);
+            System.arraycopy(ids, removeAt + 2, updated, removeAt, ids.length - removeAt - 2);
+        }
+        return new LikedPostIds(since, updated);
+    }
+
+    // Same contract as Arrays#binarySearch, in posts rather than array slots
+    private int indexOf(UUID postId) {
+        long msb = postId.getMostSignificantBits();
+        long lsb = postId.getLeastSignificantBits();
+
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compare(ids[mid * 2], msb);
+            if (cmp == 0) {
+                cmp = Long.compare(ids[mid * 2 + 1], lsb);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.coinlift.backend.services.likes;
+
+import com.coinlift.backend.repositories.LikeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-user cache of the posts a user likes among the posts of the last {@code likes.cache.horizon}.
+ * <p>
+ * Feeds mostly show recent posts, so the liked flag of most posts on a page is answered from memory and only
+ * older posts are looked up in the database. Likes and unlikes made through this instance update the cached entry;
+ * entries expire after {@code likes.cache.ttl}, which bounds how stale a like made through another instance can be.
+ */
+@Component
+class LikedPostsCache {
+
+    private final LikeRepository likeRepository;
+
+    private final boolean enabled;
+
+    private final Duration horizon;
+
+    private final int maxPostsPerUser;
+
+    private final Cache<UUID, LikedPostIds> likedPosts;
+
+    LikedPostsCache(LikeRepository likeRepository,
+                    @Value("${likes.cache.enabled}") boolean enabled,
+                    @Value("${likes.cache.horizon}") Duration horizon,
+                    @Value("${likes.cache.ttl}") Duration ttl,
+                    @Value("${likes.cache.max-posts}") long maxPosts,
+                    @Value("${likes.cache.max-posts-per-user}") int maxPostsPerUser,
+                    MeterRegistry meterRegistry) {
+        this.likeRepository = likeRepository;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.maxPostsPerUser = maxPostsPerUser;
+        this.likedPosts = Caffeine.newBuilder()
+                .maximumWeight(maxPosts)
+                .weigher((UUID userId, LikedPostIds postIds) -> postIds.size() + 1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, likedPosts, "liked-posts");
+    }
+
+    /**
+     * Retrieves the recent posts a user likes, loading them if they are not cached.
+     *
+     * @param userId The ID of the user.
+     * @return The liked posts, or null if the cache is disabled.
+     */
+    LikedPostIds get(UUID userId) {
+        if (!enabled) {
+            return null;
+        }
+        return likedPosts.get(userId, this::load);
+    }
+
+    /**
+     * Applies a committed like or unlike to the cached entry of the user, if there is one.
+     *
+     * @param userId The ID of the user.
+     * @param postId The ID of the post.
+     * @param liked  Whether the user now likes the post.
+     */
+    void update(UUID userId, UUID postId, boolean liked) {
+        if (enabled) {
+            likedPosts.asMap().computeIfPresent(userId, (id, postIds) -> postIds.with(postId, liked));
+        }
+    }
+
+    private LikedPostIds load(UUID userId) {
+        LocalDateTime since = LocalDateTime.now().minus(horizon);
+        List<UUID> postIds = likeRepository.findLikedPostIdsSince(userId, since, PageRequest.of(0, maxPostsPerUser + 1));
+        return postIds.size() > maxPostsPerUser
+                ? LikedPostIds.NONE
+                : LikedPostIds.of(since, postIds);
+    }
+}
@@ -0,0 +1,51 @@
+package com.coinlift.backend.services.pagination;
+
+import com.coinlift.backend.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a list of search results ordered by {@code (rank, id)}.
+ * <p>
+ * The rank is encoded exactly, so the next page continues right after the last result even when several results
+ * share the same rank.
+ */
+public record SearchCursor(float rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes this cursor into an opaque URL-safe token.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The encoded cursor, may be null or blank for the first page.
+     * @return The decoded cursor, or null if no token was given.
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SearchCursor(
+                    Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.coinlift.backend.services.posts;
+
+import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.dtos.posts.PostDetailsResponseDto;
+import com.coinlift.backend.dtos.users.UserMainInfoDto;
+import com.coinlift.backend.entities.ImageStatus;
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.entities.user.User;
+import com.coinlift.backend.services.followers.FollowerService;
+import com.coinlift.backend.services.images.ImageRendition;
+import com.coinlift.backend.services.likes.LikeService;
+import com.coinlift.backend.services.s3.S3PresignService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns a page of posts into response DTOs with a fixed number of round trips.
+ * <p>
+ * The posts are expected to arrive with their authors already fetched. Comment counts are read from the
+ * denormalized counter on the post, and follow state, author avatars and whether the viewer likes each post are
+ * resolved for the whole page at once instead of once per post.
+ */
+@Component
+public class PostFeedAssembler {
+
+    private final FollowerService followerService;
+
+    private final S3PresignService s3PresignService;
+
+    private final S3Buckets s3Buckets;
+
+    private final LikeService likeService;
+
+    public PostFeedAssembler(FollowerService followerService, S3PresignService s3PresignService, S3Buckets s3Buckets, LikeService likeService) {
+        this.followerService = followerService;
+        this.s3PresignService = s3PresignService;
+        this.s3Buckets = s3Buckets;
+        this.likeService = likeService;
+    }
+
+    /**
+     * Assembles the details of a page of posts.
+     *
+     * @param posts    The posts of the page, in display order, with their authors fetched.
+     * @param viewerId The ID of the current user, or null for anonymous requests.
+     * @return The list of `PostDetailsResponseDto` in the same order as the given posts.
+     */
+    public List<PostDetailsResponseDto> assemble(List<Post> posts, UUID viewerId) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> authors = posts.stream()
+                .map(Post::getUser)
+                .toList();
+
+        Map<UUID, UserMainInfoDto> owners = followerService.getUsersMainInfo(authors);
+        Set<UUID> likedPostIds = likeService.getLikedPostIds(viewerId, posts);
+
+        LocalDateTime now = LocalDateTime.now();
+        return posts.stream()
+                .map(post -> new PostDetailsResponseDto(
+                        post.getId(),
+                        post.getContent(),
+                        getImageUrl(post),
+                        post.getImageStatus(),
+                        post.getImagePlaceholder(),
+                        post.getImageWidth(),
+                        post.getImageHeight(),
+                        isCreator(viewerId, post),
+                        Duration.between(post.getCreatedAt(), now).getSeconds(),
+                        post.getCommentCount(),
+                        post.getLikeCount(),
+                        likedPostIds.contains(post.getId()),
+                        owners.get(post.getUser().getId())
+                ))
+                .toList();
+    }
+
+    /**
+     * Assembles the details of a single post.
+     *
+     * @param post     The post to assemble.
+     * @param viewerId The ID of the current user, or null for anonymous requests.
+     * @return The `PostDetailsResponseDto` of the post.
+     */
+    public PostDetailsResponseDto assemble(Post post, UUID viewerId) {
+        return assemble(List.of(post), viewerId).get(0);
+    }
+
+    /**
+     * Builds the URL the image of a post is served from.
+     * <p>
+     * When pre-signed URLs are enabled, the URL points at S3 directly so the image bytes never pass through the
+     * backend.
+     *
+     * @param post The post.
+     * @return The image URL, or null if the post has no image or it is not ready yet.
+     */
+    public String getImageUrl(Post post) {
+        return getImageUrl(post, ImageRendition.FEED);
+    }
+
+    /**
+     * Builds the URL a specific rendition of the image of a post is served from.
+     *
+     * @param post      The post.
+     * @param rendition The rendition to request.
+     * @return The image URL, or null if the post has no image or it is not ready yet.
+     */
+    public String getImageUrl(Post post, ImageRendition rendition) {
+        if (post.getImageLink() == null || post.getImageStatus() != ImageStatus.READY) {
+            return null;
+        }
+        if (s3PresignService.isEnabled()) {
+            return s3PresignService.presignGetObject(s3Buckets.getCustomer(), rendition.key(post));
+        }
+        if (post.getImageHash() != null) {
+            return "/api/v1/images/%s/%s".formatted(post.getImageHash(), rendition.getName());
+        }
+        String imageUrl = "/api/v1/posts/%s/image".formatted(post.getId());
+        return rendition == ImageRendition.FEED
+                ? imageUrl
+                : "%s?width=%d".formatted(imageUrl, rendition.getMaxWidth());
+    }
+
+    private boolean isCreator(UUID userId, Post post) {
+        if (userId == null) {
+            return false;
+        }
+        return userId.equals(post.getUser().getId());
+    }
+}
@@ -0,0 +1,99 @@
+package com.coinlift.backend.services.posts;
+
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.repositories.CommentRepository;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.services.images.ImageStorageService;
+import com.coinlift.backend.services.images.PostImageService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Purges posts that have been removed by their author.
+ * <p>
+ * Comments are deleted from the leaves of their reply trees up, in batches of {@code posts.purge.comment-batch-size},
+ * so a large comment tree does not hold locks in one long transaction. The post row is deleted last, which removes
+ * its likes and timeline entries through their foreign keys. The reference to its stored image is dropped in the same
+ * transaction, so it cannot be lost once the row is gone, and the image objects are deleted after the commit. Stored
+ * images whose deletion failed keep a row without references and are retried on every run.
+ */
+@Component
+@Log4j2
+public class PostPurgeJob {
+
+    private final PostRepository postRepository;
+
+    private final CommentRepository commentRepository;
+
+    private final PostImageService postImageService;
+
+    private final ImageStorageService imageStorageService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int commentBatchSize;
+
+    public PostPurgeJob(PostRepository postRepository, CommentRepository commentRepository,
+                        PostImageService postImageService, ImageStorageService imageStorageService,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${posts.purge.batch-size}") int batchSize,
+                        @Value("${posts.purge.comment-batch-size}") int commentBatchSize) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postImageService = postImageService;
+        this.imageStorageService = imageStorageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.commentBatchSize = commentBatchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${posts.purge.interval}")
+    public void purge() {
+        List<Post> posts = postRepository.findDeleted(batchSize);
+        for (Post post : posts) {
+            try {
+                purge(post);
+            } catch (RuntimeException e) {
+                log.warn("Could not purge post {}", post.getId(), e);
+            }
+        }
+
+        for (String hash : imageStorageService.findUnreferenced(batchSize)) {
+            try {
+                imageStorageService.deleteUnreferenced(hash);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete image {}", hash, e);
+            }
+        }
+    }
+
+    private void purge(Post post) {
+        long comments = 0;
+        int deleted;
+        do {
+            deleted = commentRepository.deleteBatchByPostId(post.getId(), commentBatchSize);
+            comments += deleted;
+        } while (deleted > 0);
+
+        Boolean purged = transactionTemplate.execute(status -> {
+            if (postRepository.purge(post.getId()) == 0) {
+                return false;
+            }
+            postImageService.releasePostImage(post);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(purged)) {
+            return;
+        }
+        postImageService.deletePostImage(post);
+        log.debug("Purged post {} with {} comments", post.getId(), comments);
+    }
+}
@@ -1,8 +1,13 @@
 package com.coinlift.backend.services.posts;
 
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.dtos.posts.PostDetailsResponseDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadDto;
 import com.coinlift.backend.dtos.posts.PostRequestDto;
+import com.coinlift.backend.dtos.posts.PostSearchResultDto;
 import com.coinlift.backend.dtos.posts.PostShortResponseDto;
+import com.coinlift.backend.services.images.ImageRendition;
+import com.coinlift.backend.services.s3.StoredObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,9 +26,17 @@ public interface PostService {
 
     UUID createPost(PostRequestDto postRequestDto, MultipartFile file);
 
+    PostImageUploadDto createImageUpload(String contentType);
+
+    UUID createPostFromUpload(String uploadId, PostRequestDto postRequestDto);
+
     PostDetailsResponseDto updatePost(UUID postId, PostRequestDto postRequestDto);
 
-    List<PostDetailsResponseDto> getAllPosts(int page, int size);
+    CursorPageDto<PostDetailsResponseDto> getAllPosts(String cursor, int size);
+
+    CursorPageDto<PostDetailsResponseDto> getFollowingPosts(String cursor, int size);
+
+    CursorPageDto<PostSearchResultDto> searchPosts(String query, String cursor, int size);
 
-    byte[] getPostImage(UUID postId);
+    StoredObject getPostImage(UUID postId, ImageRendition rendition);
 }
@@ -1,36 +1,72 @@
 package com.coinlift.backend.services.posts;
 
+import com.coinlift.backend.config.CacheConfig;
 import com.coinlift.backend.config.s3.S3Buckets;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.dtos.posts.PostDetailsResponseDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadDto;
 import com.coinlift.backend.dtos.posts.PostRequestDto;
+import com.coinlift.backend.dtos.posts.PostSearchResultDto;
 import com.coinlift.backend.dtos.posts.PostShortResponseDto;
+import com.coinlift.backend.entities.ImageStatus;
 import com.coinlift.backend.entities.Post;
 import com.coinlift.backend.entities.user.MyUserDetails;
 import com.coinlift.backend.exceptions.DeniedAccessException;
+import com.coinlift.backend.exceptions.ImageTooLargeException;
+import com.coinlift.backend.exceptions.InvalidCursorException;
 import com.coinlift.backend.exceptions.ResourceNotFoundException;
+import com.coinlift.backend.exceptions.ServiceOverloadedException;
+import com.coinlift.backend.exceptions.UnsupportedImageException;
+import com.coinlift.backend.exceptions.UploadAlreadyUsedException;
 import com.coinlift.backend.mappers.PostMapper;
 import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.PostSearchHit;
 import com.coinlift.backend.repositories.UserRepository;
-import com.coinlift.backend.services.followers.FollowerService;
+import com.coinlift.backend.services.images.ImageProcessor;
+import com.coinlift.backend.services.images.ImageRendition;
+import com.coinlift.backend.services.images.PostImageService;
+import com.coinlift.backend.services.pagination.Cursor;
+import com.coinlift.backend.services.pagination.SearchCursor;
+import com.coinlift.backend.services.s3.ObjectMetadata;
+import com.coinlift.backend.services.s3.S3PresignService;
 import com.coinlift.backend.services.s3.S3Service;
-import org.springframework.data.domain.Page;
+import com.coinlift.backend.services.s3.StoredObject;
+import com.coinlift.backend.services.timeline.TimelineService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.HtmlUtils;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Log4j2
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private static final Duration IMAGE_RETRY_AFTER = Duration.ofSeconds(30);
+
     private final PostRepository postRepository;
 
     private final PostMapper postMapper;
@@ -41,15 +77,30 @@ public class PostServiceImpl implements PostService {
 
     private final UserRepository userRepository;
 
-    private final FollowerService followerService;
+    private final PostFeedAssembler postFeedAssembler;
+
+    private final TimelineService timelineService;
+
+    private final PostImageService postImageService;
+
+    private final S3PresignService s3PresignService;
+
+    private final ImageProcessor imageProcessor;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxImageSize;
 
-    public PostServiceImpl(PostRepository postRepository, PostMapper postMapper, S3Service s3Service, S3Buckets s3Buckets, UserRepository userRepository, FollowerService followerService) {
+    public PostServiceImpl(PostRepository postRepository, PostMapper postMapper, S3Service s3Service, S3Buckets s3Buckets, UserRepository userRepository, PostFeedAssembler postFeedAssembler, TimelineService timelineService, PostImageService postImageService, S3PresignService s3PresignService, ImageProcessor imageProcessor) {
         this.postRepository = postRepository;
         this.postMapper = postMapper;
         this.s3Service = s3Service;
         this.s3Buckets = s3Buckets;
         this.userRepository = userRepository;
-        this.followerService = followerService;
+        this.postFeedAssembler = postFeedAssembler;
+        this.timelineService = timelineService;
+        this.postImageService = postImageService;
+        this.s3PresignService = s3PresignService;
+        this.imageProcessor = imageProcessor;
     }
 
     private Post getPost(UUID postId) {
@@ -60,22 +111,21 @@ public class PostServiceImpl implements PostService {
 
     /**
      * Retrieves the latest posts.
+     * <p>
+     * The result is cached for a short time, and concurrent cache misses rebuild it only once.
      *
      * @return A list of `PostShortResponseDto` representing the latest posts.
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.LATEST_POSTS, key = "'latest'", sync = true)
     public List<PostShortResponseDto> getLatestPosts() {
         return postRepository.findLatestPosts().stream()
-                .map(post -> {
-                    byte[] image = getPostImage(post.getId());
-
-                    return new PostShortResponseDto(
-                            post.getId(),
-                            post.getContent(),
-                            image,
-                            post.getLikeCount()
-                    );
-                })
+                .map(post -> new PostShortResponseDto(
+                        post.getId(),
+                        post.getContent(),
+                        postFeedAssembler.getImageUrl(post, ImageRendition.THUMBNAIL),
+                        post.getLikeCount()
+                ))
                 .toList();
     }
 
@@ -90,18 +140,8 @@ public class PostServiceImpl implements PostService {
     @Override
     public PostDetailsResponseDto getPostById(UUID postId, Pageable pageable) {
         Post post = getPost(postId);
-        byte[] postImage = getPostImage(postId);
-
-        return new PostDetailsResponseDto(
-                postId,
-                post.getContent(),
-                postImage,
-                isCreator(getUserIdOrNull(), post),
-                Duration.between(post.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                post.getComments().size(),
-                post.getLikeCount(),
-                followerService.getUserMainInfo(post.getUser().getId())
-        );
+
+        return postFeedAssembler.assemble(post, getUserIdOrNull());
     }
 
     @Override
@@ -110,35 +150,26 @@ public class PostServiceImpl implements PostService {
 
         List<Post> posts = postRepository.findLikedPostsByUserId(userId);
 
-        return posts.stream()
-                .map(post -> new PostDetailsResponseDto(
-                        post.getId(),
-                        post.getContent(),
-                        getPostImage(post.getId()),
-                        isCreator(userId, post),
-                        Duration.between(post.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                        post.getComments().size(),
-                        post.getLikeCount(),
-                        followerService.getUserMainInfo(post.getUser().getId())
-                ))
-                .toList();
+        return postFeedAssembler.assemble(posts, userId);
     }
 
     /**
      * Removes a post by its ID.
+     * <p>
+     * The post is only marked as deleted, which hides it right away. Its comments, likes and image are purged in
+     * the background by {@link PostPurgeJob}, so removing a post with a large comment tree stays fast.
      *
      * @param postId The ID of the post to remove.
      * @throws DeniedAccessException if the user does not have permission to remove the post.
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.LATEST_POSTS, allEntries = true)
     public void removePost(UUID postId) {
         UUID userId = getUserId();
 
-        if (isCreator(userId, getPost(postId))) {
-            if (getPost(postId).getImageLink() != null) {
-                removePostImage(postId);
-            }
-            postRepository.deleteById(postId);
+        Post post = getPost(postId);
+        if (isCreator(userId, post)) {
+            postRepository.softDelete(postId);
         } else {
             throw new DeniedAccessException("You don't have access, because you're not creator of this post!");
         }
@@ -146,35 +177,139 @@ public class PostServiceImpl implements PostService {
 
     /**
      * Creates a new post.
+     * <p>
+     * The post is saved right away; its image is stored in a temporary file and processed in the background, with
+     * the post in the {@link ImageStatus#PROCESSING} state until the image is ready.
      *
      * @param postRequestDto The PostRequestDto containing the details of the new post.
      * @param file           The optional MultipartFile representing the post image.
      * @return The ID of the newly created post.
      * @throws ResourceNotFoundException if the user is not found when trying to create the post.
+     * @throws UnsupportedImageException if the image is not a supported image or is corrupt.
+     * @throws ImageTooLargeException    if the image has more pixels than allowed.
+     * @throws ServiceOverloadedException if the image processing queue is full.
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.LATEST_POSTS, allEntries = true)
     public UUID createPost(PostRequestDto postRequestDto, MultipartFile file) {
         UUID userId = getUserId();
 
         Post post = postMapper.toPostEntity(postRequestDto);
         post.setUser(userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("user not found")));
+        Path upload = null;
         if (file != null && !file.isEmpty()) {
-            String postImageId = UUID.randomUUID().toString();
             try {
-                s3Service.putObject(
-                        s3Buckets.getCustomer(),
-                        "post-image/%s".formatted(postImageId),
-                        file.getBytes(),
-                        file.getContentType()
-                );
+                upload = Files.createTempFile("post-image-", null);
+                file.transferTo(upload);
+                imageProcessor.checkDimensions(upload);
             } catch (IOException e) {
+                deleteUpload(upload);
                 throw new RuntimeException(e);
+            } catch (RuntimeException e) {
+                deleteUpload(upload);
+                throw e;
+            }
+            post.setImageLink(UUID.randomUUID().toString());
+            post.setImageRenditions(true);
+            post.setImageStatus(ImageStatus.PROCESSING);
+        }
+
+        Post savedPost = postRepository.save(post);
+        if (upload != null) {
+            try {
+                postImageService.processPostImage(savedPost.getId(), userId, upload, file.getContentType());
+            } catch (TaskRejectedException e) {
+                deleteUpload(upload);
+                throw rejectPost(savedPost);
             }
-            post.setImageLink(postImageId);
-            post.setLikeCount(0);
         }
+        timelineService.fanOutPost(savedPost.getId(), userId, savedPost.getCreatedAt());
 
-        return postRepository.save(post).getId();
+        return savedPost.getId();
+    }
+
+    /**
+     * Starts a direct upload of a post image to S3.
+     * <p>
+     * The client sends the image to the returned URL itself and then creates the post with
+     * {@link #createPostFromUpload(String, PostRequestDto)}, so the image bytes never pass through the backend.
+     *
+     * @param contentType The content type of the image that will be uploaded.
+     * @return The {@link PostImageUploadDto} with the upload ID and the pre-signed upload URL.
+     * @throws ResourceNotFoundException if direct uploads are not enabled.
+     * @throws UnsupportedImageException if the content type is not an image type.
+     */
+    @Override
+    public PostImageUploadDto createImageUpload(String contentType) {
+        UUID userId = getUserId();
+        checkDirectUploadsEnabled();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new UnsupportedImageException("Only image files are allowed!");
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        String uploadUrl = s3PresignService.presignPutObject(s3Buckets.getCustomer(), getUploadKey(userId, uploadId), contentType);
+
+        return new PostImageUploadDto(uploadId, uploadUrl, contentType, s3PresignService.getUploadTtl().toSeconds());
+    }
+
+    /**
+     * Creates a new post with an image the client uploaded to S3 directly.
+     * <p>
+     * The post is saved right away in the {@link ImageStatus#PROCESSING} state, and the renditions are created from
+     * the uploaded object in the background.
+     *
+     * @param uploadId       The ID returned by {@link #createImageUpload(String)}.
+     * @param postRequestDto The PostRequestDto containing the details of the new post.
+     * @return The ID of the newly created post.
+     * @throws ResourceNotFoundException  if direct uploads are not enabled, the upload ID is malformed or nothing
+     *                                    was uploaded under the ID.
+     * @throws UploadAlreadyUsedException if the upload ID is already used by a post.
+     * @throws ImageTooLargeException     if the uploaded image is too large.
+     * @throws ServiceOverloadedException if the image processing queue is full.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.LATEST_POSTS, allEntries = true)
+    public UUID createPostFromUpload(String uploadId, PostRequestDto postRequestDto) {
+        UUID userId = getUserId();
+        checkDirectUploadsEnabled();
+        String imageId = parseUploadId(uploadId);
+        String uploadKey = getUploadKey(userId, imageId);
+
+        ObjectMetadata upload = s3Service.headObject(s3Buckets.getCustomer(), uploadKey);
+        if (upload == null) {
+            throw new ResourceNotFoundException("upload [%s] not found".formatted(uploadId));
+        }
+        if (postRepository.existsByImageLink(imageId)) {
+            throw new UploadAlreadyUsedException("Upload [%s] is already used by a post".formatted(uploadId));
+        }
+        if (upload.contentLength() > maxImageSize.toBytes()) {
+            s3Service.deleteObject(s3Buckets.getCustomer(), uploadKey);
+            throw new ImageTooLargeException("Image is larger than %s".formatted(maxImageSize));
+        }
+
+        Post post = postMapper.toPostEntity(postRequestDto);
+        post.setUser(userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException("user not found")));
+        post.setImageLink(imageId);
+        post.setImageRenditions(true);
+        post.setImageStatus(ImageStatus.PROCESSING);
+
+        Post savedPost;
+        try {
+            savedPost = postRepository.saveAndFlush(post);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same upload ID created its post after the check above
+            throw new UploadAlreadyUsedException("Upload [%s] is already used by a post".formatted(uploadId));
+        }
+        try {
+            postImageService.processUploadedImage(savedPost.getId(), userId, uploadKey, upload.contentType());
+        } catch (TaskRejectedException e) {
+            // The staged upload is kept, so the client can retry with the same upload ID
+            throw rejectPost(savedPost);
+        }
+        timelineService.fanOutPost(savedPost.getId(), userId, savedPost.getCreatedAt());
+
+        return savedPost.getId();
     }
 
     /**
@@ -189,7 +324,6 @@ public class PostServiceImpl implements PostService {
     public PostDetailsResponseDto updatePost(UUID postId, PostRequestDto postRequestDto) {
         Post post = getPost(postId);
         UUID currentUserId = getUserId();
-        byte[] postImage = getPostImage(postId);
 
         if (!isCreator(currentUserId, post)) {
             throw new DeniedAccessException("You don't have access, because you're not creator of this post!");
@@ -198,82 +332,178 @@ public class PostServiceImpl implements PostService {
         post.setContent(postRequestDto.content());
         postRepository.save(post);
 
-        return new PostDetailsResponseDto(
-                postId,
-                post.getContent(),
-                postImage,
-                true,
-                Duration.between(post.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                post.getComments().size(),
-                post.getLikeCount(),
-                followerService.getUserMainInfo(post.getUser().getId())
-        );
+        return postFeedAssembler.assemble(post, currentUserId);
     }
 
     /**
-     * Retrieves all posts with pagination support.
+     * Retrieves a page of the global post feed using keyset pagination.
+     * <p>
+     * Posts are ordered by creation time and id, newest first, so every page is a single index range scan
+     * no matter how deep the client has scrolled.
      *
-     * @param page The page number (0-indexed).
-     * @param size The number of items per page.
-     * @return A list of PostDetailsResponseDto representing the paginated posts.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of items per page.
+     * @return A {@link CursorPageDto} with the posts of the page and the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is malformed.
      */
     @Override
-    public List<PostDetailsResponseDto> getAllPosts(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Post> postPage = postRepository.findAll(pageable);
-
-        return postPage.getContent().stream()
-                .map(post -> {
-                    byte[] image = getPostImage(post.getId());
-                    Integer commentCount = post.getComments().size();
-                    return new PostDetailsResponseDto(
-                            post.getId(),
-                            post.getContent(),
-                            image,
-                            isCreator(getUserIdOrNull(), post),
-                            Duration.between(post.getCreatedAt(), LocalDateTime.now()).getSeconds(),
-                            commentCount,
-                            post.getLikeCount(),
-                            followerService.getUserMainInfo(post.getUser().getId())
-                    );
-                }).toList();
+    public CursorPageDto<PostDetailsResponseDto> getAllPosts(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Cursor position = Cursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Post> posts = position == null
+                ? postRepository.findFeedPage(limit)
+                : postRepository.findFeedPageBefore(position.createdAt(), position.id(), limit);
+
+        return toCursorPage(posts, pageSize, getUserIdOrNull());
     }
 
     /**
-     * Retrieves the image of a post by its ID.
+     * Retrieves a page of the posts of the users the current user follows.
+     * <p>
+     * The page is read from the user's materialized timeline, with posts of very popular authors merged in
+     * at read time.
      *
-     * @param postId The ID of the post.
-     * @return The byte array representing the post image, or null if no image is found.
-     * @throws ResourceNotFoundException if the post image with the given ID is not found.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of items per page.
+     * @return A {@link CursorPageDto} with the posts of the page and the cursor of the next one.
+     * @throws DeniedAccessException    if the user is not authenticated.
+     * @throws InvalidCursorException if the cursor is malformed.
      */
     @Override
-    public byte[] getPostImage(UUID postId) {
-        Post post = getPost(postId);
-        String imageLink = post.getImageLink();
+    public CursorPageDto<PostDetailsResponseDto> getFollowingPosts(String cursor, int size) {
+        UUID userId = getUserId();
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
 
-        if (imageLink == null) {
-            return null;
-        }
+        List<Post> posts = timelineService.getTimelinePage(userId, Cursor.decode(cursor), pageSize + 1);
 
-        if (imageLink.isBlank()) {
-            throw new ResourceNotFoundException("post with id [%s] post image  not found".formatted(postId));
+        return toCursorPage(posts, pageSize, userId);
+    }
+
+    /**
+     * Searches posts by their content, best matches first.
+     * <p>
+     * The query accepts web search syntax (quoted phrases, {@code or}, {@code -} to exclude a word) and is
+     * answered from the full-text index, so its cost depends on the number of matches rather than the size of
+     * the table.
+     *
+     * @param query  The search query.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param size   The number of items per page.
+     * @return A {@link CursorPageDto} with the matching posts and their highlighted snippets.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    @Override
+    public CursorPageDto<PostSearchResultDto> searchPosts(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            return new CursorPageDto<>(List.of(), null);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        SearchCursor position = SearchCursor.decode(cursor);
+
+        List<PostSearchHit> hits = position == null
+                ? postRepository.search(query, pageSize + 1)
+                : postRepository.searchAfter(query, position.rank(), position.id(), pageSize + 1);
+
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            PostSearchHit last = hits.get(pageSize - 1);
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
         }
 
-        return s3Service.getObject(s3Buckets.getCustomer(),
-                "post-image/%s".formatted(post.getImageLink())
+        Map<UUID, Post> postsById = postRepository.findAllWithUserByIdIn(hits.stream().map(PostSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostSearchHit> found = hits.stream()
+                .filter(hit -> postsById.containsKey(hit.getId()))
+                .toList();
+        List<PostDetailsResponseDto> posts = postFeedAssembler.assemble(
+                found.stream().map(hit -> postsById.get(hit.getId())).toList(),
+                getUserIdOrNull()
         );
+
+        List<PostSearchResultDto> results = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            results.add(new PostSearchResultDto(posts.get(i), highlight(found.get(i).getSnippet())));
+        }
+        return new CursorPageDto<>(results, nextCursor);
     }
 
-    private void removePostImage(UUID postId) {
+    /**
+     * Opens a stream to the image of a post by its ID.
+     *
+     * Posts created before renditions were introduced only have their original image, which is served for every
+     * rendition until the backfill job has processed them.
+     *
+     * @param postId    The ID of the post.
+     * @param rendition The rendition of the image to open.
+     * @return The {@link StoredObject} holding the image stream and its metadata.
+     * @throws ResourceNotFoundException if the post has no image or it is not ready yet.
+     */
+    @Override
+    public StoredObject getPostImage(UUID postId, ImageRendition rendition) {
         Post post = getPost(postId);
+        String imageLink = post.getImageLink();
 
-        if (post.getImageLink().isBlank()) {
+        if (imageLink == null || imageLink.isBlank() || post.getImageStatus() != ImageStatus.READY) {
             throw new ResourceNotFoundException("post with id [%s] post image  not found".formatted(postId));
         }
 
-        s3Service.deleteObject(s3Buckets.getCustomer(),
-                "post-image/%s".formatted(post.getImageLink())
-        );
+        return s3Service.getObjectStream(s3Buckets.getCustomer(), rendition.key(post));
+    }
+
+    private String parseUploadId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId).toString();
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("upload [%s] not found".formatted(uploadId));
+        }
+    }
+
+    private ServiceOverloadedException rejectPost(Post post) {
+        log.warn("Image processing queue is full, rejecting post {}", post.getId());
+        postRepository.deleteById(post.getId());
+        return new ServiceOverloadedException("Too many images are being processed, please try again later", IMAGE_RETRY_AFTER);
+    }
+
+    private void deleteUpload(Path upload) {
+        if (upload == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload {}", upload, e);
+        }
+    }
+
+    private void checkDirectUploadsEnabled() {
+        if (!s3PresignService.isEnabled()) {
+            throw new ResourceNotFoundException("direct uploads are not enabled");
+        }
+    }
+
+    private String getUploadKey(UUID userId, String uploadId) {
+        return "post-upload/%s/%s".formatted(userId, uploadId);
+    }
+
+    private String highlight(String snippet) {
+        return HtmlUtils.htmlEscape(snippet)
+                .replace(String.valueOf(PostSearchHit.MATCH_START), "<mark>")
+                .replace(String.valueOf(PostSearchHit.MATCH_END), "</mark>");
+    }
+
+    private CursorPageDto<PostDetailsResponseDto> toCursorPage(List<Post> posts, int pageSize, UUID viewerId) {
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            Post last = posts.get(pageSize - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPageDto<>(postFeedAssembler.assemble(posts, viewerId), nextCursor);
     }
 
     private UUID getUserId() {
@@ -0,0 +1,42 @@
+package com.coinlift.backend.services.s3;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link org.springframework.core.io.Resource} over a buffer held by the {@link ObjectCache}. Streams read the
+ * buffer in place, so serving a cached object or a range of it does not copy it onto the heap.
+ */
+class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer content;
+
+    private final String description;
+
+    ByteBufferResource(ByteBuffer content, String description) {
+        this.content = content;
+        this.description = description;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return content.capacity();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(content.duplicate().clear());
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cached object [" + description + "]";
+    }
+}
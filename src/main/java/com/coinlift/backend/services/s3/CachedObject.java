@@ -0,0 +1,46 @@
+package com.coinlift.backend.services.s3;
+
+import org.springframework.core.io.Resource;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An S3 object held by the {@link ObjectCache}.
+ *
+ * @param content     The read-only object body, stored outside the Java heap.
+ * @param eTag        The entity tag reported by S3.
+ * @param contentType The stored content type, or null if none was recorded.
+ */
+public record CachedObject(
+        ByteBuffer content,
+
+        String eTag,
+
+        String contentType
+) {
+
+    public long contentLength() {
+        return content.capacity();
+    }
+
+    /**
+     * Copies the object body onto the heap.
+     *
+     * @return The object bytes.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[content.capacity()];
+        content.duplicate().clear().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Exposes the object body as a resource whose streams read it in place.
+     *
+     * @param description The description of the resource.
+     * @return The resource over the object body.
+     */
+    public Resource toResource(String description) {
+        return new ByteBufferResource(content, description);
+    }
+}
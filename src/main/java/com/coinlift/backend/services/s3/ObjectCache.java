@@ -0,0 +1,199 @@
+package com.coinlift.backend.services.s3;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache of immutable S3 objects with two size-bounded tiers:
+ * <ul>
+ *     <li>memory, holding object bodies in direct buffers so they do not add to heap and GC pressure;</li>
+ *     <li>local disk, holding every cached object in its own file and reading it back memory-mapped.</li>
+ * </ul>
+ * Both tiers evict with Caffeine's W-TinyLFU policy, weighted by object size. Objects are written to both tiers,
+ * and an object found only on disk is promoted back into memory. The disk tier is emptied on startup since its
+ * index is only kept in memory.
+ */
+@Component
+@Log4j2
+public class ObjectCache {
+
+    private final Cache<String, CachedObject> memory;
+
+    private final Cache<String, DiskEntry> disk;
+
+    private final Path directory;
+
+    private final long maxObjectSize;
+
+    public ObjectCache(@Value("${aws.s3.cache.memory-size}") DataSize memorySize,
+                       @Value("${aws.s3.cache.disk-size}") DataSize diskSize,
+                       @Value("${aws.s3.cache.directory}") Path directory,
+                       @Value("${aws.s3.cache.max-object-size}") DataSize maxObjectSize,
+                       MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.maxObjectSize = maxObjectSize.toBytes();
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memorySize.toBytes())
+                .weigher((String key, CachedObject object) -> object.content().capacity())
+                .recordStats()
+                .build();
+        this.disk = Caffeine.newBuilder()
+                .maximumWeight(diskSize.toBytes())
+                .weigher((String key, DiskEntry entry) -> (int) entry.size())
+                .removalListener((String key, DiskEntry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        deleteFile(entry.path());
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "s3.objects.memory");
+        CaffeineCacheMetrics.monitor(meterRegistry, disk, "s3.objects.disk");
+        prepareDirectory();
+    }
+
+    /**
+     * Tells whether an object of the given size may be cached.
+     *
+     * @param size The size of the object in bytes.
+     * @return true if the object is small enough to be cached.
+     */
+    public boolean isCacheable(long size) {
+        return size >= 0 && size <= maxObjectSize;
+    }
+
+    /**
+     * Looks an object up in memory, then on disk.
+     *
+     * @param key The cache key of the object.
+     * @return The cached object, or null if it is not cached.
+     */
+    public CachedObject get(String key) {
+        CachedObject cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DiskEntry entry = disk.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(entry.path(), StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, entry.size());
+            cached = new CachedObject(toDirect(mapped), entry.eTag(), entry.contentType());
+            memory.put(key, cached);
+            return cached;
+        } catch (IOException e) {
+            log.warn("Could not read cached object with key: {}", key);
+            disk.asMap().remove(key, entry);
+            return null;
+        }
+    }
+
+    /**
+     * Reads an object straight into off-heap memory and stores it in both tiers.
+     *
+     * @param key         The cache key of the object.
+     * @param content     The stream of the object body, which is read but not closed.
+     * @param length      The size of the object in bytes.
+     * @param eTag        The entity tag reported by S3.
+     * @param contentType The stored content type.
+     * @return The cached object.
+     * @throws IllegalArgumentException if the object is too large to be cached.
+     * @throws IOException              if the stream cannot be read or ends early.
+     */
+    public CachedObject put(String key, InputStream content, long length, String eTag, String contentType) throws IOException {
+        if (!isCacheable(length)) {
+            throw new IllegalArgumentException("Object is too large to be cached: " + key);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
+        ReadableByteChannel channel = Channels.newChannel(content);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Object ended before its length was read: " + key);
+            }
+        }
+        buffer.flip();
+
+        CachedObject cached = new CachedObject(buffer.asReadOnlyBuffer(), eTag, contentType);
+        memory.put(key, cached);
+        writeToDisk(key, cached);
+        return cached;
+    }
+
+    /**
+     * Removes an object from both tiers.
+     *
+     * @param key The cache key of the object.
+     */
+    public void invalidate(String key) {
+        memory.invalidate(key);
+        disk.invalidate(key);
+    }
+
+    private void writeToDisk(String key, CachedObject cached) {
+        Path path = directory.resolve(UUID.randomUUID().toString());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer content = cached.content().duplicate().clear();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        } catch (IOException e) {
+            log.warn("Could not write cached object with key: {}", key);
+            deleteFile(path);
+            return;
+        }
+        disk.put(key, new DiskEntry(path, cached.eTag(), cached.contentType(), cached.contentLength()));
+    }
+
+    private ByteBuffer toDirect(ByteBuffer source) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(source.remaining());
+        buffer.put(source).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(this::deleteFile);
+            }
+        } catch (IOException e) {
+            log.error("Could not prepare object cache directory: {}", directory);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete cached object file: {}", path);
+        }
+    }
+
+    private record DiskEntry(Path path, String eTag, String contentType, long size) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.coinlift.backend.services.s3;
+
+/**
+ * The metadata of an object stored in S3.
+ *
+ * @param eTag          The entity tag reported by S3.
+ * @param contentType   The stored content type, or null if none was recorded.
+ * @param contentLength The size of the object in bytes.
+ */
+public record ObjectMetadata(
+        String eTag,
+
+        String contentType,
+
+        long contentLength
+) {
+}
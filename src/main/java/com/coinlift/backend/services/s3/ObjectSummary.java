@@ -0,0 +1,19 @@
+package com.coinlift.backend.services.s3;
+
+import java.time.Instant;
+
+/**
+ * An object listed from S3.
+ *
+ * @param key          The key of the object.
+ * @param size         The size of the object in bytes.
+ * @param lastModified When the object was last written.
+ */
+public record ObjectSummary(
+        String key,
+
+        long size,
+
+        Instant lastModified
+) {
+}
@@ -0,0 +1,117 @@
+package com.coinlift.backend.services.s3;
+
+import org.springframework.core.io.AbstractResource;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link org.springframework.core.io.Resource} over an object too large for the {@link ObjectCache}. Nothing is
+ * requested from S3 until a stream is read, and every stream is a new request piped straight from S3.
+ * <p>
+ * Spring MVC serves a range by skipping to its offset and reading the region, so bytes skipped before the first read
+ * are not downloaded: the request is sent as a ranged {@code GET} starting at the offset. A stream closed before the
+ * end of the object aborts its request instead of draining the rest of the body.
+ */
+class S3ObjectResource extends AbstractResource {
+
+    private final S3Client s3;
+
+    private final GetObjectRequest request;
+
+    private final long contentLength;
+
+    S3ObjectResource(S3Client s3, GetObjectRequest request, long contentLength) {
+        this.s3 = s3;
+        this.request = request;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new RangedObjectStream();
+    }
+
+    @Override
+    public String getDescription() {
+        return "S3 object [" + request.bucket() + "/" + request.key() + "]";
+    }
+
+    private class RangedObjectStream extends InputStream {
+
+        private long position;
+
+        private ResponseInputStream<GetObjectResponse> object;
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (object != null) {
+                long skipped = object.skip(n);
+                position += skipped;
+                return skipped;
+            }
+            long skipped = Math.max(Math.min(n, contentLength - position), 0);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (object == null && position >= contentLength) {
+                return -1;
+            }
+            int b = open().read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (object == null && position >= contentLength) {
+                // Skipped to the end, a range starting there would be rejected by S3
+                return -1;
+            }
+            int read = open().read(b, off, len);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (object == null) {
+                return;
+            }
+            if (position < contentLength) {
+                object.abort();
+            }
+            object.close();
+        }
+
+        private InputStream open() {
+            if (object == null) {
+                object = position > 0
+                        ? s3.getObject(request.toBuilder().range("bytes=" + position + "-").build())
+                        : s3.getObject(request);
+            }
+            return object;
+        }
+    }
+}
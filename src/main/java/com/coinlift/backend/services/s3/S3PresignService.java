@@ -0,0 +1,84 @@
+package com.coinlift.backend.services.s3;
+
+import com.coinlift.backend.config.s3.S3Presign;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.time.Duration;
+
+/**
+ * Creates time-limited URLs that let clients download from and upload to S3 directly.
+ */
+@Service
+public class S3PresignService {
+
+    private final S3Presigner presigner;
+
+    private final S3Presign s3Presign;
+
+    private final Cache<String, String> downloadUrls;
+
+    public S3PresignService(S3Presigner presigner, S3Presign s3Presign) {
+        this.presigner = presigner;
+        this.s3Presign = s3Presign;
+        // A URL is reused for half of its lifetime so browsers can keep caching the image behind it
+        this.downloadUrls = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(s3Presign.getDownloadTtl().dividedBy(2))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return s3Presign.isEnabled();
+    }
+
+    public Duration getUploadTtl() {
+        return s3Presign.getUploadTtl();
+    }
+
+    /**
+     * Creates a URL to download an object.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param key        The unique key to identify the object in the bucket.
+     * @return The pre-signed GET URL, valid for at least half of {@code aws.s3.presign.download-ttl}.
+     */
+    public String presignGetObject(String bucketName, String key) {
+        return downloadUrls.get(bucketName + "/" + key, k -> presigner.presignGetObject(GetObjectPresignRequest.builder()
+                        .signatureDuration(s3Presign.getDownloadTtl())
+                        .getObjectRequest(GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .build())
+                        .build())
+                .url()
+                .toString());
+    }
+
+    /**
+     * Creates a URL to upload an object. The upload must be sent with the given content type.
+     *
+     * @param bucketName  The name of the S3 bucket.
+     * @param key         The unique key the object is stored under.
+     * @param contentType The content type of the object.
+     * @return The pre-signed PUT URL, valid for {@code aws.s3.presign.upload-ttl}.
+     */
+    public String presignPutObject(String bucketName, String key, String contentType) {
+        return presigner.presignPutObject(PutObjectPresignRequest.builder()
+                        .signatureDuration(s3Presign.getUploadTtl())
+                        .putObjectRequest(PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .contentType(contentType)
+                                .build())
+                        .build())
+                .url()
+                .toString();
+    }
+}
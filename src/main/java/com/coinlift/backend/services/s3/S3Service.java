@@ -1,51 +1,128 @@
 package com.coinlift.backend.services.s3;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
-import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 @Service
 @Log4j2
 public class S3Service {
 
+    private static final int MAX_DELETE_BATCH = 1000;
+
+    // Below this many measured GETs the p95 is too noisy to derive the hedge delay from
+    private static final long HEDGE_MIN_SAMPLES = 100;
+
+    private static final double HEDGE_PERCENTILE = 0.95;
+
     private final S3Client s3;
 
-    public S3Service(S3Client s3) {
+    private final Executor fetchExecutor;
+
+    // Only starts hedges, which run on the fetch executor
+    private final ScheduledThreadPoolExecutor hedgeScheduler;
+
+    private final ObjectCache objectCache;
+
+    private final boolean hedgeEnabled;
+
+    private final Duration initialHedgeDelay;
+
+    private final Duration minHedgeDelay;
+
+    private final Timer getLatency;
+
+    private final Counter hedges;
+
+    public S3Service(S3Client s3, @Qualifier("s3FetchExecutor") Executor fetchExecutor, ObjectCache objectCache,
+                     @Value("${aws.s3.fetch.hedge.enabled}") boolean hedgeEnabled,
+                     @Value("${aws.s3.fetch.hedge.initial-delay}") Duration initialHedgeDelay,
+                     @Value("${aws.s3.fetch.hedge.min-delay}") Duration minHedgeDelay,
+                     MeterRegistry meterRegistry) {
         this.s3 = s3;
+        this.fetchExecutor = fetchExecutor;
+        CustomizableThreadFactory hedgeThreads = new CustomizableThreadFactory("s3-hedge-");
+        hedgeThreads.setDaemon(true);
+        this.hedgeScheduler = new ScheduledThreadPoolExecutor(1, hedgeThreads);
+        // Most hedges are cancelled, they should not pile up in the queue until their delay has passed
+        this.hedgeScheduler.setRemoveOnCancelPolicy(true);
+        this.objectCache = objectCache;
+        this.hedgeEnabled = hedgeEnabled;
+        this.initialHedgeDelay = initialHedgeDelay;
+        this.minHedgeDelay = minHedgeDelay;
+        this.getLatency = Timer.builder("s3.get")
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+        this.hedges = meterRegistry.counter("s3.get.hedged");
     }
 
     /**
      * Uploads an object to the specified S3 bucket.
      *
-     * @param bucketName The name of the S3 bucket.
-     * @param key        The unique key to identify the object in the bucket.
-     * @param file       The byte array representing the file to be uploaded.
+     * @param bucketName  The name of the S3 bucket.
+     * @param key         The unique key to identify the object in the bucket.
+     * @param file        The byte array representing the file to be uploaded.
+     * @param contentType The content type the object is served with.
      */
     public void putObject(String bucketName, String key, byte[] file, String contentType) {
-
-        byte[] reducedImage = reduceImageQuality(file, contentType);
-
         PutObjectRequest objectRequest = PutObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
+                .contentType(contentType)
                 .build();
-        s3.putObject(objectRequest, RequestBody.fromBytes(reducedImage));
+        s3.putObject(objectRequest, RequestBody.fromBytes(file));
     }
 
     /**
      * Retrieves an object from the specified S3 bucket.
+     * <p>
+     * The object is read straight from S3 and never goes through the {@link ObjectCache}; callers that need
+     * caching keep their own copy, as {@code AvatarServiceImpl} does for profile images.
      *
      * @param bucketName The name of the S3 bucket.
      * @param key        The unique key to identify the object in the bucket.
@@ -57,14 +134,216 @@ public class S3Service {
                 .bucket(bucketName)
                 .key(key)
                 .build();
-        try {
-            return s3.getObject(objectRequest).readAllBytes();
+        long start = System.nanoTime();
+        try (ResponseInputStream<GetObjectResponse> object = s3.getObject(objectRequest)) {
+            byte[] content = object.readAllBytes();
+            getLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return content;
         } catch (IOException e) {
             log.error("Error while getting data with key: {}", key);
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Retrieves several objects from the specified S3 bucket concurrently.
+     * <p>
+     * All fetches share one deadline. Objects that fail or are not downloaded in time are left out of the result,
+     * so the caller can degrade gracefully instead of failing the whole request. A fetch that is still running
+     * after the p95 latency of recent GETs is hedged with a second GET, and whichever finishes first is used. A hedge
+     * that has not been sent yet is cancelled as soon as the first GET finishes, or when the deadline passes.
+     * Like {@link #getObject(String, String)}, these reads bypass the {@link ObjectCache}.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param keys       The keys of the objects to retrieve. Duplicates are fetched once.
+     * @param deadline   The maximum time to wait for all objects.
+     * @return A map of key to object bytes containing only the objects that were retrieved in time.
+     */
+    public Map<String, byte[]> getObjects(String bucketName, Collection<String> keys, Duration deadline) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        long hedgeDelayNanos = getHedgeDelayNanos();
+
+        Map<String, CompletableFuture<byte[]>> fetches = new LinkedHashMap<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            try {
+                fetches.put(key, getObjectHedged(bucketName, key, hedgeDelayNanos));
+            } catch (RejectedExecutionException e) {
+                log.warn("S3 fetch queue is full, skipping object with key: {}", key);
+            }
+        }
+
+        Map<String, byte[]> objects = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<byte[]>> fetch : fetches.entrySet()) {
+            try {
+                long remaining = Math.max(deadlineNanos - System.nanoTime(), 0);
+                objects.put(fetch.getKey(), fetch.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Also cancels a hedge that has not been sent yet
+                fetch.getValue().cancel(false);
+                log.warn("Deadline exceeded while getting data with key: {}", fetch.getKey());
+            } catch (ExecutionException e) {
+                log.warn("Error while getting data with key: {}", fetch.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return objects;
+    }
+
+    private CompletableFuture<byte[]> getObjectHedged(String bucketName, String key, long hedgeDelayNanos) {
+        CompletableFuture<byte[]> primary = CompletableFuture.supplyAsync(() -> getObject(bucketName, key), fetchExecutor);
+        if (!hedgeEnabled) {
+            return primary;
+        }
+
+        // Completes with the first attempt that succeeds, or fails once every attempt has failed. The slower
+        // attempt cannot be cancelled and simply runs to completion.
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<byte[], Throwable> complete = (content, error) -> {
+            if (error == null) {
+                result.complete(content);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(complete);
+
+        ScheduledFuture<?> hedge = hedgeScheduler.schedule(() -> {
+            // Not once every attempt has failed, even if the primary failed just after the check
+            if (result.isDone() || pending.getAndUpdate(count -> count > 0 ? count + 1 : count) == 0) {
+                return;
+            }
+            try {
+                CompletableFuture.supplyAsync(() -> getObject(bucketName, key), fetchExecutor).whenComplete(complete);
+                hedges.increment();
+            } catch (RejectedExecutionException e) {
+                log.debug("S3 fetch queue is full, not hedging object with key: {}", key);
+                complete.accept(null, e);
+            }
+        }, hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        // A primary GET that has finished, successfully or not, or a caller that gave up leaves nothing to hedge
+        primary.whenComplete((content, error) -> hedge.cancel(false));
+        result.whenComplete((content, error) -> hedge.cancel(false));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeScheduler.shutdownNow();
+    }
+
+    private long getHedgeDelayNanos() {
+        HistogramSnapshot snapshot = getLatency.takeSnapshot();
+        if (snapshot.count() >= HEDGE_MIN_SAMPLES) {
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                if (percentile.percentile() == HEDGE_PERCENTILE) {
+                    return Math.max((long) percentile.value(TimeUnit.NANOSECONDS), minHedgeDelay.toNanos());
+                }
+            }
+        }
+        return initialHedgeDelay.toNanos();
+    }
+
+    /**
+     * Opens an object in the specified S3 bucket for streaming.
+     * <p>
+     * The size of an uncached object is read with a {@code HEAD} request first. Objects small enough for the
+     * {@link ObjectCache} are then read once from S3 straight into off-heap memory and served from the cache. Larger
+     * objects are piped from S3 on every read, with a single {@code GET} when the response is written; a range of such
+     * an object is requested with a ranged {@code GET} from its offset. In both cases the object never passes through
+     * the heap as a whole, and ranges of it can be served without reading the rest.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param key        The unique key to identify the object in the bucket.
+     * @return The {@link StoredObject} holding the object body and its metadata.
+     * @throws RuntimeException if an error occurs while reading the object.
+     */
+    public StoredObject getObjectStream(String bucketName, String key) {
+        String cacheKey = cacheKey(bucketName, key);
+        CachedObject cached = objectCache.get(cacheKey);
+        if (cached != null) {
+            return toStoredObject(cacheKey, cached);
+        }
+
+        GetObjectRequest objectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        ObjectMetadata metadata = headObject(bucketName, key);
+        if (metadata == null) {
+            throw NoSuchKeyException.builder()
+                    .message("No object with key: " + key)
+                    .build();
+        }
+        if (!objectCache.isCacheable(metadata.contentLength())) {
+            // The body is only requested when the response is written
+            return new StoredObject(
+                    new S3ObjectResource(s3, objectRequest, metadata.contentLength()),
+                    metadata.eTag(),
+                    metadata.contentType(),
+                    metadata.contentLength()
+            );
+        }
+
+        ResponseInputStream<GetObjectResponse> object = s3.getObject(objectRequest);
+        GetObjectResponse response = object.response();
+        try (object) {
+            cached = objectCache.put(cacheKey, object, response.contentLength(), response.eTag(), response.contentType());
+            return toStoredObject(cacheKey, cached);
+        } catch (IOException e) {
+            log.error("Error while getting data with key: {}", key);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Opens an object in the specified S3 bucket for a single read, bypassing the {@link ObjectCache}.
+     * <p>
+     * Meant for objects that are read once, such as staged uploads, which would otherwise push frequently read
+     * objects out of the cache. The content can only be streamed once, and the caller must close the stream.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param key        The unique key to identify the object in the bucket.
+     * @return The {@link StoredObject} holding the open object stream and its metadata.
+     */
+    public StoredObject openObject(String bucketName, String key) {
+        GetObjectRequest objectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        ResponseInputStream<GetObjectResponse> object = s3.getObject(objectRequest);
+        GetObjectResponse response = object.response();
+        return new StoredObject(
+                new InputStreamResource(object),
+                response.eTag(),
+                response.contentType(),
+                response.contentLength()
+        );
+    }
+
+    /**
+     * Reads the metadata of an object in the specified S3 bucket without downloading it.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param key        The unique key to identify the object in the bucket.
+     * @return The {@link ObjectMetadata} of the object, or null if there is no such object.
+     */
+    public ObjectMetadata headObject(String bucketName, String key) {
+        HeadObjectRequest objectRequest = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        try {
+            HeadObjectResponse response = s3.headObject(objectRequest);
+            return new ObjectMetadata(response.eTag(), response.contentType(), response.contentLength());
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
     /**
      * Deletes an object from the specified S3 bucket.
      *
@@ -78,47 +357,65 @@ public class S3Service {
                 .build();
         log.info("trying to remove the image from s3");
         s3.deleteObject(objectRequest);
+        objectCache.invalidate(cacheKey(bucketName, key));
     }
 
     /**
-     * Reduces the quality of an image represented by a byte array.
+     * Lists the objects under a prefix of the specified S3 bucket. Pages of up to 1,000 objects are requested
+     * lazily while the stream is consumed.
      *
-     * @param imageBytes The byte array representing the image.
-     * @return The byte array of the compressed image.
-     * @throws RuntimeException if an error occurs while reducing the image quality.
+     * @param bucketName The name of the S3 bucket.
+     * @param prefix     The key prefix to list.
+     * @return A stream of pages of listed objects.
      */
-    private byte[] reduceImageQuality(byte[] imageBytes, String contentType) {
-        int targetWidth = 683;
-        int targetHeight = 407;
-
-        try {
-            log.info("start - reduceImageQuality(): " + LocalDateTime.now());
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(imageBytes);
-            BufferedImage image = ImageIO.read(inputStream);
-
-            BufferedImage resizedImage = Scalr.resize(image, Scalr.Method.BALANCED, targetWidth, targetHeight);
-
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            ImageIO.write(resizedImage, getImageType(contentType), outputStream);
-
-            byte[] compressedImage = outputStream.toByteArray();
-            log.info("end - reduceImageQuality(): " + LocalDateTime.now());
-
-            return compressedImage;
-        } catch (IOException e) {
-            log.error("Error reducing image quality");
-            throw new RuntimeException(e);
-        }
+    public Stream<List<ObjectSummary>> listObjects(String bucketName, String prefix) {
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+        return s3.listObjectsV2Paginator(listRequest).stream()
+                .map(page -> page.contents().stream()
+                        .map(object -> new ObjectSummary(object.key(), object.size(), object.lastModified()))
+                        .toList());
     }
 
-    private String getImageType(String format) {
-        String[] parts = format.split("/");
-
-        if (parts.length != 2 || !"image".equals(parts[0])) {
-            throw new IllegalArgumentException("Invalid format string: " + format);
+    /**
+     * Deletes several objects from the specified S3 bucket with batched {@code DeleteObjects} requests of up to
+     * {@value #MAX_DELETE_BATCH} keys.
+     *
+     * @param bucketName The name of the S3 bucket.
+     * @param keys       The keys of the objects to delete.
+     * @return The number of objects that were deleted. Keys that S3 failed to delete are logged and left out.
+     */
+    public int deleteObjects(String bucketName, Collection<String> keys) {
+        List<String> remaining = List.copyOf(keys);
+        int deleted = 0;
+        for (int from = 0; from < remaining.size(); from += MAX_DELETE_BATCH) {
+            List<String> batch = remaining.subList(from, Math.min(from + MAX_DELETE_BATCH, remaining.size()));
+            DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder()
+                            .objects(batch.stream().map(key -> ObjectIdentifier.builder().key(key).build()).toList())
+                            .quiet(true)
+                            .build())
+                    .build();
+            DeleteObjectsResponse response = s3.deleteObjects(deleteRequest);
+            for (S3Error error : response.errors()) {
+                log.warn("Could not delete object with key: {} ({})", error.key(), error.code());
+            }
+            for (String key : batch) {
+                objectCache.invalidate(cacheKey(bucketName, key));
+            }
+            deleted += batch.size() - response.errors().size();
         }
+        return deleted;
+    }
 
-        return parts[1];
+    private StoredObject toStoredObject(String cacheKey, CachedObject cached) {
+        return new StoredObject(cached.toResource(cacheKey), cached.eTag(), cached.contentType(), cached.contentLength());
     }
 
+    private String cacheKey(String bucketName, String key) {
+        return bucketName + "/" + key;
+    }
 }
@@ -0,0 +1,23 @@
+package com.coinlift.backend.services.s3;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * An object stored in S3 together with the metadata needed to serve it over HTTP.
+ *
+ * @param content       The object body. Every call to {@link Resource#getInputStream()} opens a new stream that the
+ *                      caller is responsible for closing, so the body can be served in byte ranges.
+ * @param eTag          The entity tag reported by S3.
+ * @param contentType   The stored content type, or null if none was recorded.
+ * @param contentLength The size of the object in bytes.
+ */
+public record StoredObject(
+        Resource content,
+
+        String eTag,
+
+        String contentType,
+
+        long contentLength
+) {
+}
@@ -0,0 +1,19 @@
+package com.coinlift.backend.services.timeline;
+
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.services.pagination.Cursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TimelineService {
+
+    void fanOutPost(UUID postId, UUID authorId, LocalDateTime postCreatedAt);
+
+    void backfillFollowing(UUID followerId, UUID authorId);
+
+    void trimFollowing(UUID followerId, UUID authorId);
+
+    List<Post> getTimelinePage(UUID userId, Cursor cursor, int limit);
+}
@@ -0,0 +1,156 @@
+package com.coinlift.backend.services.timeline;
+
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.entities.user.User;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.TimelineEntryRepository;
+import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.pagination.Cursor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the materialized "following" timeline of every user.
+ * <p>
+ * Posts are fanned out on write into the timelines of the author's followers, and are marked as fanned out once
+ * written. Authors with at least {@code timeline.fan-out-threshold} followers are skipped on write. Posts that were
+ * not fanned out are merged into the timeline at read time instead, so they stay visible when their author later
+ * drops below the threshold, and a post is already visible while its fan-out is still running.
+ */
+@Service
+@Log4j2
+public class TimelineServiceImpl implements TimelineService {
+
+    private static final Comparator<Post> NEWEST_FIRST = Comparator
+            .comparing(Post::getCreatedAt)
+            .thenComparing(Post::getId, TimelineServiceImpl::compareUnsigned)
+            .reversed();
+
+    private final TimelineEntryRepository timelineEntryRepository;
+
+    private final PostRepository postRepository;
+
+    private final UserRepository userRepository;
+
+    @Value("${timeline.fan-out-threshold}")
+    private int fanOutThreshold;
+
+    @Value("${timeline.backfill-size}")
+    private int backfillSize;
+
+    public TimelineServiceImpl(TimelineEntryRepository timelineEntryRepository, PostRepository postRepository, UserRepository userRepository) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Writes a new post into the timelines of all followers of its author.
+     *
+     * @param postId        The ID of the new post.
+     * @param authorId      The ID of the author of the post.
+     * @param postCreatedAt The creation time of the post.
+     */
+    @Override
+    @Async
+    @Transactional
+    public void fanOutPost(UUID postId, UUID authorId, LocalDateTime postCreatedAt) {
+        if (isMergedOnRead(authorId)) {
+            return;
+        }
+        int inserted = timelineEntryRepository.fanOutToFollowers(postId, authorId, postCreatedAt);
+        postRepository.markFannedOut(postId);
+        log.debug("Post {} fanned out to {} timelines", postId, inserted);
+    }
+
+    /**
+     * Copies the most recent posts of a newly followed author into the follower's timeline.
+     * <p>
+     * This is done for authors above the fan-out threshold too, since their posts from before they crossed it were
+     * fanned out and are not merged at read time.
+     *
+     * @param followerId The ID of the user who started following.
+     * @param authorId   The ID of the followed user.
+     */
+    @Override
+    @Async
+    @Transactional
+    public void backfillFollowing(UUID followerId, UUID authorId) {
+        timelineEntryRepository.backfillFromAuthor(followerId, authorId, backfillSize);
+    }
+
+    /**
+     * Removes all posts of an author from the timeline of a user who stopped following them.
+     *
+     * @param followerId The ID of the user who unfollowed.
+     * @param authorId   The ID of the unfollowed user.
+     */
+    @Override
+    @Transactional
+    public void trimFollowing(UUID followerId, UUID authorId) {
+        timelineEntryRepository.deleteByUserIdAndAuthorId(followerId, authorId);
+    }
+
+    /**
+     * Reads a page of a user's timeline, newest first.
+     *
+     * @param userId The ID of the timeline owner.
+     * @param cursor The position to continue after, or null for the first page.
+     * @param limit  The maximum number of posts to return.
+     * @return The posts of the page with their authors fetched.
+     */
+    @Override
+    public List<Post> getTimelinePage(UUID userId, Cursor cursor, int limit) {
+        Pageable page = PageRequest.of(0, limit);
+
+        List<UUID> postIds = cursor == null
+                ? timelineEntryRepository.findPostIds(userId, page)
+                : timelineEntryRepository.findPostIdsBefore(userId, cursor.createdAt(), cursor.id(), page);
+
+        List<Post> posts = new ArrayList<>();
+        if (!postIds.isEmpty()) {
+            posts.addAll(postRepository.findAllWithUserByIdIn(postIds));
+        }
+
+        posts.addAll(cursor == null
+                ? postRepository.findNotFannedOutFeedPage(userId, page)
+                : postRepository.findNotFannedOutFeedPageBefore(userId, cursor.createdAt(), cursor.id(), page));
+
+        Map<UUID, Post> distinct = new LinkedHashMap<>();
+        posts.forEach(post -> distinct.putIfAbsent(post.getId(), post));
+
+        return distinct.values().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    private boolean isMergedOnRead(UUID authorId) {
+        return userRepository.findById(authorId)
+                .map(User::getFollowersCount)
+                .map(followers -> followers >= fanOutThreshold)
+                .orElse(true);
+    }
+
+    // Matches the byte-wise ordering PostgreSQL uses for UUID columns
+    private static int compareUnsigned(UUID first, UUID second) {
+        int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        if (result != 0) {
+            return result;
+        }
+        return Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
@@ -8,6 +8,7 @@ import com.coinlift.backend.exceptions.DuplicateUserException;
 import com.coinlift.backend.exceptions.PasswordMismatchException;
 import com.coinlift.backend.repositories.TokenRepository;
 import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.avatars.AvatarService;
 import com.coinlift.backend.services.users.security.JwtService;
 import com.coinlift.backend.services.users.security.UserDetailsServiceImpl;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -62,7 +63,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .email(emailAddress.toLowerCase())
                 .password(passwordEncoder.encode(pass))
                 .role(Role.USER)
-                .imageUrl("af5be274-71e7-4561-98fd-b33f80f759cf")
+                .imageUrl(AvatarService.DEFAULT_AVATAR_ID)
                 .followersCount(0)
                 .followingCount(0)
                 .build();
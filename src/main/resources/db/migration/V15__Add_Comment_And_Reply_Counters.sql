@@ -0,0 +1,24 @@
+ALTER TABLE posts
+    ADD COLUMN comment_count INT NOT NULL DEFAULT 0;
+
+ALTER TABLE comments
+    ADD COLUMN reply_count INT NOT NULL DEFAULT 0;
+
+-- Backfill counters for existing rows
+UPDATE posts p
+SET comment_count = c.total
+FROM (SELECT post_id, COUNT(*) AS total
+      FROM comments
+      GROUP BY post_id) c
+WHERE c.post_id = p.id;
+
+UPDATE comments p
+SET reply_count = r.total
+FROM (SELECT parent_comment_id, COUNT(*) AS total
+      FROM comments
+      WHERE parent_comment_id IS NOT NULL
+      GROUP BY parent_comment_id) r
+WHERE r.parent_comment_id = p.id;
+
+CREATE INDEX idx_comments_parent_comment_id
+    ON comments (parent_comment_id);
@@ -0,0 +1,19 @@
+CREATE TABLE timeline_entries
+(
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id         UUID         NOT NULL,
+    post_id         UUID         NOT NULL,
+    author_id       UUID         NOT NULL,
+    post_created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_timeline_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_timeline_post FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE,
+    CONSTRAINT uk_timeline_user_post UNIQUE (user_id, post_id)
+);
+
+-- Timeline reads are a single range scan over this index
+CREATE INDEX idx_timeline_user_created_at_post
+    ON timeline_entries (user_id, post_created_at DESC, post_id DESC);
+
+-- Used to trim a timeline when the user unfollows an author
+CREATE INDEX idx_timeline_user_author
+    ON timeline_entries (user_id, author_id);
@@ -0,0 +1,7 @@
+-- Posts uploaded before renditions existed keep a single object under post-image/{image_link}
+ALTER TABLE posts
+    ADD COLUMN image_renditions BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_posts_image_without_renditions
+    ON posts (created_at)
+    WHERE image_link IS NOT NULL AND image_renditions = FALSE;
@@ -0,0 +1,7 @@
+-- Post images are processed after the post is saved, NULL for posts without an image
+ALTER TABLE posts
+    ADD COLUMN image_status VARCHAR(16);
+
+UPDATE posts
+SET image_status = 'READY'
+WHERE image_link IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Search document kept in sync by PostgreSQL, not mapped by the Post entity
+ALTER TABLE posts
+    ADD COLUMN content_tsv TSVECTOR GENERATED ALWAYS AS (to_tsvector('english', content)) STORED;
+
+CREATE INDEX idx_posts_content_tsv ON posts USING GIN (content_tsv);
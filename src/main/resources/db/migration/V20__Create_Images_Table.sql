@@ -0,0 +1,16 @@
+-- Post images stored once per content hash under images/{hash}/{rendition}
+CREATE TABLE images
+(
+    hash         VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(64) NOT NULL,
+    width        INTEGER     NOT NULL,
+    height       INTEGER     NOT NULL,
+    ref_count    INTEGER     NOT NULL,
+    created_at   TIMESTAMP   NOT NULL
+);
+
+-- Set once the image of a post has been stored, NULL for images stored per post
+ALTER TABLE posts
+    ADD COLUMN image_hash VARCHAR(64) REFERENCES images (hash);
+
+CREATE INDEX idx_posts_image_hash ON posts (image_hash);
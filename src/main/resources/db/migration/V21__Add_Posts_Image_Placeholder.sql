@@ -0,0 +1,5 @@
+-- Set once the image of a post has been processed, so feeds can lay out and preview images without reading them
+ALTER TABLE posts
+    ADD COLUMN image_placeholder VARCHAR(64),
+    ADD COLUMN image_width       INTEGER,
+    ADD COLUMN image_height      INTEGER;
@@ -0,0 +1,9 @@
+-- Keyset pagination of comments and replies by (created_at, id), also used by the comment thread query
+CREATE INDEX idx_comments_post_parent_created
+    ON comments (post_id, parent_comment_id, created_at, id);
+
+CREATE INDEX idx_comments_parent_created
+    ON comments (parent_comment_id, created_at, id);
+
+-- Covered by idx_comments_parent_created
+DROP INDEX idx_comments_parent_comment_id;
@@ -0,0 +1,14 @@
+-- Removed posts are hidden right away and purged in the background
+ALTER TABLE posts
+    ADD COLUMN deleted_at TIMESTAMP(6);
+
+CREATE INDEX idx_posts_deleted_at
+    ON posts (deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+-- Let the database remove the comments of a purged post instead of loading them
+ALTER TABLE comments
+    DROP CONSTRAINT FK_POSTS_COMMENTS;
+
+ALTER TABLE comments
+    ADD CONSTRAINT FK_POSTS_COMMENTS FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE;
@@ -0,0 +1,16 @@
+-- Keep one like per user and post, concurrent requests could insert duplicates
+DELETE FROM likes l
+    USING likes d
+WHERE l.user_id = d.user_id
+  AND l.post_id = d.post_id
+  AND l.id > d.id;
+
+CREATE UNIQUE INDEX uq_likes_user_post
+    ON likes (user_id, post_id);
+
+-- Counts may have drifted through lost updates, and posts without an image were saved with NULL
+UPDATE posts p
+SET like_count = (SELECT count(*) FROM likes l WHERE l.post_id = p.id);
+
+ALTER TABLE posts
+    ALTER COLUMN like_count SET NOT NULL;
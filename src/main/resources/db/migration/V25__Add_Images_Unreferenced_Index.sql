@@ -0,0 +1,4 @@
+-- Stored images whose last reference was dropped, their objects are deleted by the post purge job
+CREATE INDEX idx_images_unreferenced
+    ON images (created_at)
+    WHERE ref_count = 0;
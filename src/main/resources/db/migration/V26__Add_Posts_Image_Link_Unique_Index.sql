@@ -0,0 +1,3 @@
+-- One post per image, concurrent requests finalizing the same direct upload could both create a post
+CREATE UNIQUE INDEX uq_posts_image_link
+    ON posts (image_link);
@@ -0,0 +1,16 @@
+-- Set once a post has been written into the timelines of its author's followers, posts that were not are merged
+-- into timelines at read time
+ALTER TABLE posts
+    ADD COLUMN fanned_out BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Posts of authors above the default timeline.fan-out-threshold were skipped on write
+UPDATE posts
+SET fanned_out = FALSE
+WHERE user_id IN (SELECT id FROM users WHERE followers_count >= 10000);
+
+ALTER TABLE posts
+    ALTER COLUMN fanned_out SET DEFAULT FALSE;
+
+CREATE INDEX idx_posts_not_fanned_out
+    ON posts (user_id, created_at DESC, id DESC)
+    WHERE fanned_out = FALSE;
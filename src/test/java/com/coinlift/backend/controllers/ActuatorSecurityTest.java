@@ -0,0 +1,49 @@
+package com.coinlift.backend.controllers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @Autowired
+    public MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(authorities = "USER")
+    @DisplayName("GET actuator/metrics as a regular user")
+    void getMetrics_asUser_returnsForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden())
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(authorities = "USER")
+    @DisplayName("DELETE actuator/caches as a regular user")
+    void clearCaches_asUser_returnsForbidden() throws Exception {
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isForbidden())
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    @DisplayName("GET actuator/metrics as an admin")
+    void getMetrics_asAdmin_returnsOk() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk())
+                .andDo(print());
+    }
+}
@@ -2,6 +2,8 @@ package com.coinlift.backend.controllers;
 
 import com.coinlift.backend.dtos.comments.CommentRequestDto;
 import com.coinlift.backend.dtos.comments.CommentResponseDto;
+import com.coinlift.backend.dtos.comments.CommentThreadDto;
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.dtos.users.UserMainInfoDto;
 import com.coinlift.backend.services.comments.CommentService;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -16,6 +18,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
@@ -67,7 +70,7 @@ class CommentControllerTest {
         UUID postId = UUID.randomUUID();
         UUID commentId = UUID.randomUUID();
 
-        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], false);
+        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], null, false);
 
         CommentResponseDto commentResponseDto = new CommentResponseDto(commentId, "test content", 5354, true, false, userMainInfoDto);
 
@@ -95,6 +98,46 @@ class CommentControllerTest {
 
     }
 
+    @Test
+    void getAllComments_withCursor_returnsCursorPage() throws Exception {
+        UUID postId = UUID.randomUUID();
+        UUID commentId = UUID.randomUUID();
+
+        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", null, null, false);
+        CommentResponseDto commentResponseDto = new CommentResponseDto(commentId, "test content", 5354, false, true, userMainInfoDto);
+
+        when(commentService.getComments(postId, "cursor", 10)).thenReturn(new CursorPageDto<>(List.of(commentResponseDto), "next"));
+
+        mockMvc.perform(get("/api/v1/posts/{postId}/comments", postId).param("cursor", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(commentId.toString())))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andDo(print());
+    }
+
+    @Test
+    void getThread_returnsNestedComments() throws Exception {
+        UUID postId = UUID.randomUUID();
+        UUID commentId = UUID.randomUUID();
+        UUID replyId = UUID.randomUUID();
+
+        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", null, null, false);
+
+        CommentThreadDto reply = new CommentThreadDto(replyId, "reply", 60, false, 0, userMainInfoDto, List.of());
+        CommentThreadDto comment = new CommentThreadDto(commentId, "comment", 120, false, 1, userMainInfoDto, List.of(reply));
+
+        when(commentService.getThread(postId, 2, 5)).thenReturn(List.of(comment));
+
+        mockMvc.perform(get("/api/v1/posts/{postId}/thread", postId)
+                        .param("depth", "2")
+                        .param("breadth", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(commentId.toString())))
+                .andExpect(jsonPath("$[0].replies[0].id", is(replyId.toString())))
+                .andExpect(jsonPath("$[0].replies[0].replies.length()", is(0)))
+                .andDo(print());
+    }
+
     private String asJsonString(Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
@@ -0,0 +1,58 @@
+package com.coinlift.backend.controllers;
+
+import com.coinlift.backend.services.images.ImageRendition;
+import com.coinlift.backend.services.images.ImageStorageService;
+import com.coinlift.backend.services.s3.StoredObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImageControllerTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Autowired
+    public MockMvc mockMvc;
+
+    @MockBean
+    ImageStorageService imageStorageService;
+
+    @Test
+    @DisplayName("GET api/v1/images/{hash}/{rendition}")
+    void getImage_streamsImmutableImage() throws Exception {
+        byte[] image = {1, 2, 3};
+
+        when(imageStorageService.getImage(HASH, ImageRendition.THUMBNAIL)).thenReturn(
+                new StoredObject(new ByteArrayResource(image), "\"etag\"", "image/png", image.length)
+        );
+
+        mockMvc.perform(get("/api/v1/images/{hash}/{rendition}", HASH, "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"etag\""))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(image))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/images/{hash}/{rendition} with unknown rendition")
+    void getImage_withUnknownRendition_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/images/{hash}/{rendition}", HASH, "original"))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+}
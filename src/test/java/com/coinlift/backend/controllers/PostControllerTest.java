@@ -1,10 +1,21 @@
 package com.coinlift.backend.controllers;
 
+import com.coinlift.backend.dtos.pagination.CursorPageDto;
 import com.coinlift.backend.dtos.posts.PostDetailsResponseDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadDto;
+import com.coinlift.backend.dtos.posts.PostImageUploadRequestDto;
 import com.coinlift.backend.dtos.posts.PostRequestDto;
+import com.coinlift.backend.dtos.posts.PostSearchResultDto;
 import com.coinlift.backend.dtos.posts.PostShortResponseDto;
 import com.coinlift.backend.dtos.users.UserMainInfoDto;
+import com.coinlift.backend.entities.ImageStatus;
+import com.coinlift.backend.exceptions.InvalidCursorException;
+import com.coinlift.backend.exceptions.ServiceOverloadedException;
+import com.coinlift.backend.exceptions.UnsupportedImageException;
+import com.coinlift.backend.exceptions.UploadAlreadyUsedException;
+import com.coinlift.backend.services.images.ImageRendition;
 import com.coinlift.backend.services.posts.PostService;
+import com.coinlift.backend.services.s3.StoredObject;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
@@ -22,6 +34,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -52,17 +65,17 @@ class PostControllerTest {
     @BeforeEach
     void setUp() {
         postShortResponseDtoList = Arrays.asList(
-                new PostShortResponseDto(UUID.randomUUID(), "content_1", new byte[0], 2),
-                new PostShortResponseDto(UUID.randomUUID(), "content_2", new byte[0], 34)
+                new PostShortResponseDto(UUID.randomUUID(), "content_1", "/api/v1/posts/image", 2),
+                new PostShortResponseDto(UUID.randomUUID(), "content_2", null, 34)
         );
 
-         userMainInfoDto = new UserMainInfoDto("username", new byte[3], false);
+         userMainInfoDto = new UserMainInfoDto("username", new byte[3], null, false);
 
         postResponseDtoList = Arrays.asList(
-                new PostDetailsResponseDto(UUID.randomUUID(), "test content_1", new byte[0], true,
-                        6435, 3, 4, userMainInfoDto),
-                new PostDetailsResponseDto(UUID.randomUUID(), "test content_2", new byte[0], false,
-                        5763, 23, 44, userMainInfoDto)
+                new PostDetailsResponseDto(UUID.randomUUID(), "test content_1", "/api/v1/posts/image", ImageStatus.READY,
+                        "LEHV6nWB2yk8pyo0adR*.7kCMdnj", 1920, 1080, true, 6435, 3, 4, true, userMainInfoDto),
+                new PostDetailsResponseDto(UUID.randomUUID(), "test content_2", null, null, null, null, null, false,
+                        5763, 23, 44, false, userMainInfoDto)
         );
 
     }
@@ -81,15 +94,82 @@ class PostControllerTest {
 
     @Test
     @DisplayName("GET api/v1/posts")
-    void getAllPosts_returnsListOfPosts() throws Exception {
-        int page = 0;
+    void getAllPosts_returnsPageOfPosts() throws Exception {
         int size = 15;
 
-        when(postService.getAllPosts(page, size)).thenReturn(postResponseDtoList);
+        when(postService.getAllPosts(null, size)).thenReturn(new CursorPageDto<>(postResponseDtoList, "next"));
 
         mockMvc.perform(get("/api/v1/posts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(postResponseDtoList.size()))
+                .andExpect(jsonPath("$.items.length()").value(postResponseDtoList.size()))
+                .andExpect(jsonPath("$.items[0].imagePlaceholder", is("LEHV6nWB2yk8pyo0adR*.7kCMdnj")))
+                .andExpect(jsonPath("$.items[0].imageWidth", is(1920)))
+                .andExpect(jsonPath("$.items[0].likedByMe", is(true)))
+                .andExpect(jsonPath("$.items[1].likedByMe", is(false)))
+                .andExpect(jsonPath("$.nextCursor", is("next")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts?cursor={cursor}")
+    void getAllPosts_withCursor_returnsLastPage() throws Exception {
+        String cursor = "cursor";
+        int size = 2;
+
+        when(postService.getAllPosts(cursor, size)).thenReturn(new CursorPageDto<>(postResponseDtoList, null));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("cursor", cursor)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(postResponseDtoList.size()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts?cursor={cursor} with malformed cursor")
+    void getAllPosts_withMalformedCursor_returnsBadRequest() throws Exception {
+        String cursor = "not-a-cursor";
+
+        when(postService.getAllPosts(cursor, 15)).thenThrow(new InvalidCursorException("Invalid cursor: " + cursor));
+
+        mockMvc.perform(get("/api/v1/posts")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("GET api/v1/posts/following")
+    void getFollowingPosts_returnsPageOfPosts() throws Exception {
+        int size = 15;
+
+        when(postService.getFollowingPosts(null, size)).thenReturn(new CursorPageDto<>(postResponseDtoList, null));
+
+        mockMvc.perform(get("/api/v1/posts/following"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(postResponseDtoList.size()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts/search")
+    void searchPosts_returnsPageOfResults() throws Exception {
+        int size = 15;
+        String query = "bitcoin";
+        List<PostSearchResultDto> results = List.of(
+                new PostSearchResultDto(postResponseDtoList.get(0), "<mark>bitcoin</mark> to the moon")
+        );
+
+        when(postService.searchPosts(query, null, size)).thenReturn(new CursorPageDto<>(results, "next"));
+
+        mockMvc.perform(get("/api/v1/posts/search").param("q", query))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(results.size()))
+                .andExpect(jsonPath("$.items[0].snippet").value("<mark>bitcoin</mark> to the moon"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
                 .andDo(print());
     }
 
@@ -102,10 +182,10 @@ class PostControllerTest {
         int size = 20;
         Pageable pageable = PageRequest.of(page, size);
 
-        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], false);
+        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], null, false);
 
         PostDetailsResponseDto postResponseDto = new PostDetailsResponseDto(uuid, "test content_2",
-                new byte[0], false, 645653, 23, 44, userMainInfoDto);
+                null, null, null, null, null, false, 645653, 23, 44, false, userMainInfoDto);
 
         when(postService.getPostById(uuid, pageable)).thenReturn(postResponseDto);
 
@@ -117,6 +197,138 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("GET api/v1/posts/{postId}/image")
+    void getPostImage_streamsImageWithCacheHeaders() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        byte[] image = {1, 2, 3};
+
+        when(postService.getPostImage(uuid, ImageRendition.FEED)).thenReturn(
+                new StoredObject(new ByteArrayResource(image), "\"etag\"", "image/png", image.length)
+        );
+
+        mockMvc.perform(get("/api/v1/posts/{uuid}/image", uuid))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"etag\""))
+                .andExpect(header().exists("Cache-Control"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(image))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts/{postId}/image with Range")
+    void getPostImage_withRange_returnsPartialContent() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        byte[] image = {1, 2, 3, 4, 5};
+
+        when(postService.getPostImage(uuid, ImageRendition.FEED)).thenReturn(
+                new StoredObject(new ByteArrayResource(image), "\"etag\"", "image/png", image.length)
+        );
+
+        mockMvc.perform(get("/api/v1/posts/{uuid}/image", uuid).header("Range", "bytes=1-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 1-2/5"))
+                .andExpect(content().bytes(new byte[]{2, 3}))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts/{postId}/image with If-None-Match")
+    void getPostImage_withMatchingETag_returnsNotModified() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        byte[] image = {1, 2, 3};
+
+        when(postService.getPostImage(uuid, ImageRendition.FEED)).thenReturn(
+                new StoredObject(new ByteArrayResource(image), "\"etag\"", "image/png", image.length)
+        );
+
+        mockMvc.perform(get("/api/v1/posts/{uuid}/image", uuid).header("If-None-Match", "\"etag\""))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("GET api/v1/posts/{postId}/image?width=300")
+    void getPostImage_withWidth_streamsSmallestFittingRendition() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        byte[] image = {4, 5, 6};
+
+        when(postService.getPostImage(uuid, ImageRendition.THUMBNAIL)).thenReturn(
+                new StoredObject(new ByteArrayResource(image), "\"thumbnail\"", "image/png", image.length)
+        );
+
+        mockMvc.perform(get("/api/v1/posts/{uuid}/image", uuid).param("width", "300"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"thumbnail\""))
+                .andExpect(content().bytes(image))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts/uploads")
+    void createImageUpload_withImageType_returnsUploadUrl() throws Exception {
+        PostImageUploadDto upload = new PostImageUploadDto("upload-id", "http://localhost:9000/upload", "image/png", 600);
+
+        when(postService.createImageUpload("image/png")).thenReturn(upload);
+
+        mockMvc.perform(post("/api/v1/posts/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new PostImageUploadRequestDto("image/png"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.uploadId").value("upload-id"))
+                .andExpect(jsonPath("$.uploadUrl").value("http://localhost:9000/upload"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts/uploads with a content type that is not an image")
+    void createImageUpload_withNonImageType_returnsUnsupportedMediaType() throws Exception {
+        when(postService.createImageUpload("text/plain"))
+                .thenThrow(new UnsupportedImageException("Only image files are allowed!"));
+
+        mockMvc.perform(post("/api/v1/posts/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new PostImageUploadRequestDto("text/plain"))))
+                .andExpect(status().isUnsupportedMediaType())
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts/uploads/{uploadId}")
+    void createPostFromUpload_returnsCreatedStatus() throws Exception {
+        UUID postId = UUID.randomUUID();
+        String uploadId = UUID.randomUUID().toString();
+
+        when(postService.createPostFromUpload(eq(uploadId), any(PostRequestDto.class))).thenReturn(postId);
+
+        mockMvc.perform(post("/api/v1/posts/uploads/{uploadId}", uploadId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new PostRequestDto("test content"))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", is(postId.toString())))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts/uploads/{uploadId} with used upload")
+    void createPostFromUpload_withUsedUpload_returnsConflict() throws Exception {
+        String uploadId = UUID.randomUUID().toString();
+
+        when(postService.createPostFromUpload(eq(uploadId), any(PostRequestDto.class)))
+                .thenThrow(new UploadAlreadyUsedException("Upload [%s] is already used by a post".formatted(uploadId)));
+
+        mockMvc.perform(post("/api/v1/posts/uploads/{uploadId}", uploadId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new PostRequestDto("test content"))))
+                .andExpect(status().isConflict())
+                .andDo(print());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("POST api/v1/posts")
@@ -140,6 +352,50 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts while image processing is overloaded")
+    void createPost_withFullProcessingQueue_returnsServiceUnavailable() throws Exception {
+        when(postService.createPost(any(PostRequestDto.class), any(MultipartFile.class))).thenThrow(
+                new ServiceOverloadedException("Too many images are being processed", Duration.ofSeconds(30))
+        );
+
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                new byte[0]
+        );
+
+        mockMvc.perform(multipart("/api/v1/posts")
+                        .file(multipartFile)
+                        .param("content", "Test Content")
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andDo(print());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("POST api/v1/posts with a file that is not an image")
+    void createPost_withUnsupportedImage_returnsUnsupportedMediaType() throws Exception {
+        when(postService.createPost(any(PostRequestDto.class), any(MultipartFile.class)))
+                .thenThrow(new UnsupportedImageException("Unsupported image format"));
+
+        MockMultipartFile multipartFile = new MockMultipartFile(
+                "file",
+                "notes.txt",
+                MediaType.TEXT_PLAIN_VALUE,
+                "not an image".getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/v1/posts")
+                        .file(multipartFile)
+                        .param("content", "Test Content")
+                )
+                .andExpect(status().isUnsupportedMediaType())
+                .andDo(print());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("DELETE api/v1/posts/{postId}")
@@ -158,10 +414,10 @@ class PostControllerTest {
 
         PostRequestDto postRequestDto = new PostRequestDto("test content");
 
-        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], false);
+        UserMainInfoDto userMainInfoDto = new UserMainInfoDto("username", new byte[3], null, false);
 
         PostDetailsResponseDto postResponseDto = new PostDetailsResponseDto(postId, "test content",
-                new byte[0], false, 653, 23, 44, userMainInfoDto);
+                null, null, null, null, null, false, 653, 23, 44, false, userMainInfoDto);
         when(postService.updatePost(eq(postId), any(PostRequestDto.class))).thenReturn(postResponseDto);
 
         mockMvc.perform(patch("/api/v1/posts/{postId}", postId)
@@ -0,0 +1,90 @@
+package com.coinlift.backend.services.comments;
+
+import com.coinlift.backend.entities.Comment;
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.entities.user.Role;
+import com.coinlift.backend.entities.user.User;
+import com.coinlift.backend.exceptions.ResourceNotFoundException;
+import com.coinlift.backend.repositories.CommentRepository;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+class CommentServiceImplTest {
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    private UUID postId;
+
+    private UUID commentId;
+
+    @BeforeEach
+    void setUp() {
+        String username = "author-" + UUID.randomUUID();
+        User author = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@coinlift.test")
+                .password("password")
+                .role(Role.USER)
+                .followersCount(0)
+                .followingCount(0)
+                .build());
+
+        Post post = new Post();
+        post.setContent("content");
+        post.setUser(author);
+        postId = postRepository.saveAndFlush(post).getId();
+
+        Comment comment = new Comment();
+        comment.setContent("comment");
+        comment.setPost(post);
+        comment.setUser(author);
+        commentId = commentRepository.saveAndFlush(comment).getId();
+
+        entityManager.clear();
+        postRepository.softDelete(postId);
+    }
+
+    @Test
+    @DisplayName("Comments of a removed post are not found")
+    void getComments_withRemovedPost_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getComments(postId, null, 10));
+    }
+
+    @Test
+    @DisplayName("The thread of a removed post is not found")
+    void getThread_withRemovedPost_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getThread(postId, 2, 3));
+    }
+
+    @Test
+    @DisplayName("Replies to a comment of a removed post are not found")
+    void getReplies_withRemovedPost_throwsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getReplies(commentId, null, 10));
+    }
+}
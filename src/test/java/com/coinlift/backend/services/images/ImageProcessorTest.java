@@ -0,0 +1,47 @@
+package com.coinlift.backend.services.images;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageProcessorTest {
+
+    private final ImageProcessor imageProcessor = new ImageProcessor(50_000_000, DataSize.ofMegabytes(64));
+
+    @Test
+    @DisplayName("Every rendition of a 4:3 image fits inside its bounding box")
+    void createRenditions_withLandscapeImage_fitsEveryBoundingBox() throws IOException {
+        ProcessedImage image = imageProcessor.createRenditions(png(1600, 1200), "image/png");
+
+        assertEquals(new Dimensions(1600, 1200), dimensions(image, ImageRendition.FULL));
+        assertEquals(new Dimensions(543, 407), dimensions(image, ImageRendition.FEED));
+        assertEquals(new Dimensions(253, 190), dimensions(image, ImageRendition.THUMBNAIL));
+        for (ImageRendition rendition : ImageRendition.values()) {
+            EncodedImage encoded = image.renditions().get(rendition);
+            assertTrue(encoded.width() <= rendition.getMaxWidth(), rendition.getName());
+            assertTrue(encoded.height() <= rendition.getMaxHeight(), rendition.getName());
+        }
+    }
+
+    private static Dimensions dimensions(ProcessedImage image, ImageRendition rendition) {
+        EncodedImage encoded = image.renditions().get(rendition);
+        return new Dimensions(encoded.width(), encoded.height());
+    }
+
+    private static ByteArrayInputStream png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private record Dimensions(int width, int height) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.coinlift.backend.services.likes;
+
+import com.coinlift.backend.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class LikeCountAccumulatorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int LIKES_PER_THREAD = 100_000;
+
+    private final UUID postId = UUID.randomUUID();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private PostRepository postRepository;
+
+    private LikeCountAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        when(postRepository.updateLikeCount(any(), anyInt())).thenAnswer(invocation -> {
+            written.addAndGet(invocation.<Integer>getArgument(1));
+            return 1;
+        });
+        accumulator = new LikeCountAccumulator(postRepository, 20);
+    }
+
+    @Test
+    @DisplayName("Concurrent like changes are written exactly once while flushing")
+    void add_concurrentlyWithFlushes_keepsCountExact() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong expected = new AtomicLong();
+
+        Future<?> flusher = executor.submit(() -> {
+            while (!done.get()) {
+                accumulator.flush();
+            }
+        });
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            writers.add(executor.submit(() -> {
+                start.await();
+                long sum = 0;
+                for (int i = 0; i < LIKES_PER_THREAD; i++) {
+                    int delta = i % 3 == 0 ? -1 : 1;
+                    accumulator.add(postId, delta);
+                    sum += delta;
+                }
+                expected.addAndGet(sum);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        done.set(true);
+        flusher.get();
+        executor.shutdown();
+
+        accumulator.flush();
+
+        assertEquals(expected.get(), written.get());
+    }
+
+    @Test
+    @DisplayName("A post is hot until a flush interval without enough likes")
+    void flush_withLikesAboveThreshold_marksPostHot() {
+        for (int i = 0; i < 20; i++) {
+            accumulator.record(postId);
+        }
+
+        accumulator.flush();
+        assertTrue(accumulator.isHot(postId));
+
+        accumulator.flush();
+        assertFalse(accumulator.isHot(postId));
+
+        verify(postRepository, never()).updateLikeCount(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Failed writes are retried with the next flush")
+    void flush_whenWriteFails_retriesDelta() {
+        doThrow(new IllegalStateException("database unavailable"))
+                .doAnswer(invocation -> {
+                    written.addAndGet(invocation.<Integer>getArgument(1));
+                    return 1;
+                })
+                .when(postRepository).updateLikeCount(any(), anyInt());
+
+        accumulator.add(postId, 1);
+        accumulator.add(postId, 1);
+
+        accumulator.flush();
+        assertEquals(0, written.get());
+
+        accumulator.flush();
+        assertEquals(2, written.get());
+    }
+}
@@ -0,0 +1,62 @@
+package com.coinlift.backend.services.likes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LikedPostIdsTest {
+
+    private final LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("Contains exactly the liked posts, including ids with negative halves")
+    void contains_findsLikedPosts() {
+        List<UUID> liked = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            liked.add(UUID.randomUUID());
+        }
+        liked.add(new UUID(-1L, -1L));
+        liked.add(new UUID(Long.MIN_VALUE, 0L));
+
+        LikedPostIds postIds = LikedPostIds.of(since, liked);
+
+        assertEquals(liked.size(), postIds.size());
+        liked.forEach(postId -> assertTrue(postIds.contains(postId)));
+        assertFalse(postIds.contains(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Adding and removing a post returns an updated copy")
+    void with_addsAndRemovesPosts() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LikedPostIds postIds = LikedPostIds.of(since, List.of(first));
+
+        LikedPostIds added = postIds.with(second, true);
+        assertTrue(added.contains(first));
+        assertTrue(added.contains(second));
+        assertFalse(postIds.contains(second));
+
+        LikedPostIds removed = added.with(first, false);
+        assertFalse(removed.contains(first));
+        assertTrue(removed.contains(second));
+        assertEquals(1, removed.size());
+    }
+
+    @Test
+    @DisplayName("Only posts created since the load time are covered")
+    void covers_onlyPostsSinceLoadTime() {
+        LikedPostIds postIds = LikedPostIds.of(since, List.of());
+
+        assertTrue(postIds.covers(since));
+        assertTrue(postIds.covers(since.plusDays(1)));
+        assertFalse(postIds.covers(since.minusSeconds(1)));
+        assertFalse(LikedPostIds.NONE.covers(since));
+    }
+}
@@ -0,0 +1,92 @@
+package com.coinlift.backend.services.posts;
+
+import com.coinlift.backend.entities.Image;
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.entities.user.Role;
+import com.coinlift.backend.entities.user.User;
+import com.coinlift.backend.repositories.ImageRepository;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.s3.S3Service;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@Transactional
+class PostPurgeJobTest {
+
+    @Autowired
+    PostPurgeJob postPurgeJob;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    ImageRepository imageRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @MockBean
+    S3Service s3Service;
+
+    @Test
+    @DisplayName("An image whose objects could not be deleted is released and deleted on the next run")
+    void purge_withFailingImageDeletion_retriesOnNextRun() {
+        String hash = UUID.randomUUID().toString().replace("-", "");
+        imageRepository.save(new Image(hash, "image/jpeg", 1, 1, 1, LocalDateTime.now()));
+        UUID postId = savePost(hash);
+        entityManager.flush();
+        entityManager.clear();
+        postRepository.softDelete(postId);
+
+        doThrow(new RuntimeException("S3 unavailable")).when(s3Service).deleteObject(anyString(), anyString());
+        postPurgeJob.purge();
+
+        assertTrue(postRepository.findDeleted(Integer.MAX_VALUE).stream().noneMatch(post -> post.getId().equals(postId)));
+        assertEquals(0, imageRepository.findById(hash).orElseThrow().getRefCount());
+        assertTrue(imageRepository.findUnreferenced(Integer.MAX_VALUE).contains(hash));
+
+        doNothing().when(s3Service).deleteObject(anyString(), anyString());
+        postPurgeJob.purge();
+
+        assertTrue(imageRepository.findById(hash).isEmpty());
+    }
+
+    private UUID savePost(String imageHash) {
+        String username = "author-" + UUID.randomUUID();
+        User author = userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@coinlift.test")
+                .password("password")
+                .role(Role.USER)
+                .followersCount(0)
+                .followingCount(0)
+                .build());
+
+        Post post = new Post();
+        post.setContent("content");
+        post.setUser(author);
+        post.setImageLink(UUID.randomUUID().toString());
+        post.setImageRenditions(true);
+        post.setImageHash(imageHash);
+        return postRepository.saveAndFlush(post).getId();
+    }
+}
@@ -0,0 +1,83 @@
+package com.coinlift.backend.services.s3;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.StreamUtils;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class S3ObjectResourceTest {
+
+    private final byte[] content = "0123456789".getBytes();
+
+    private final GetObjectRequest request = GetObjectRequest.builder()
+            .bucket("bucket")
+            .key("post-image/key")
+            .build();
+
+    @Test
+    @DisplayName("Reading a range requests the object from the range offset")
+    void getInputStream_withSkip_requestsRange() throws Exception {
+        S3Client s3 = mock(S3Client.class);
+        when(s3.getObject(any(GetObjectRequest.class)))
+                .thenReturn(objectFrom(4));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // The way Spring MVC writes a resource region
+        try (InputStream in = new S3ObjectResource(s3, request, content.length).getInputStream()) {
+            StreamUtils.copyRange(in, out, 4, 6);
+        }
+
+        ArgumentCaptor<GetObjectRequest> sent = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3).getObject(sent.capture());
+        assertEquals("bytes=4-", sent.getValue().range());
+        assertEquals("456", out.toString());
+    }
+
+    @Test
+    @DisplayName("Reading the whole object sends a plain request")
+    void getInputStream_withoutSkip_requestsWholeObject() throws Exception {
+        S3Client s3 = mock(S3Client.class);
+        when(s3.getObject(any(GetObjectRequest.class)))
+                .thenReturn(objectFrom(0));
+
+        byte[] read;
+        try (InputStream in = new S3ObjectResource(s3, request, content.length).getInputStream()) {
+            read = in.readAllBytes();
+        }
+
+        verify(s3).getObject(request);
+        assertArrayEquals(content, read);
+    }
+
+    @Test
+    @DisplayName("Nothing is requested until the stream is read")
+    void getInputStream_withoutRead_sendsNoRequest() throws Exception {
+        S3Client s3 = mock(S3Client.class);
+
+        new S3ObjectResource(s3, request, content.length).getInputStream().close();
+
+        verifyNoInteractions(s3);
+    }
+
+    private ResponseInputStream<GetObjectResponse> objectFrom(int offset) {
+        byte[] body = Arrays.copyOfRange(content, offset, content.length);
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().contentLength((long) body.length).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(body))
+        );
+    }
+}
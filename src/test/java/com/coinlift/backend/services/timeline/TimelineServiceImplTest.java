@@ -0,0 +1,117 @@
+package com.coinlift.backend.services.timeline;
+
+import com.coinlift.backend.entities.Post;
+import com.coinlift.backend.entities.TimelineEntry;
+import com.coinlift.backend.entities.user.Follower;
+import com.coinlift.backend.entities.user.Role;
+import com.coinlift.backend.entities.user.User;
+import com.coinlift.backend.repositories.FollowerRepository;
+import com.coinlift.backend.repositories.PostRepository;
+import com.coinlift.backend.repositories.TimelineEntryRepository;
+import com.coinlift.backend.repositories.UserRepository;
+import com.coinlift.backend.services.pagination.Cursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+class TimelineServiceImplTest {
+
+    @Autowired
+    TimelineService timelineService;
+
+    @Autowired
+    TimelineEntryRepository timelineEntryRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    FollowerRepository followerRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    @DisplayName("A removed post in the middle of a timeline does not end the page early")
+    void getTimelinePage_withRemovedPost_continuesPastIt() {
+        User author = saveUser("author");
+        User reader = saveUser("reader");
+
+        Post oldest = savePost(author, reader, "oldest");
+        Post removed = savePost(author, reader, "removed");
+        Post newest = savePost(author, reader, "newest");
+        entityManager.flush();
+        entityManager.clear();
+
+        postRepository.softDelete(removed.getId());
+
+        List<Post> firstPage = timelineService.getTimelinePage(reader.getId(), null, 2);
+        assertEquals(List.of(newest.getId(), oldest.getId()), ids(firstPage));
+
+        Post last = firstPage.get(0);
+        List<Post> nextPage = timelineService.getTimelinePage(
+                reader.getId(), new Cursor(last.getCreatedAt(), last.getId()), 2);
+        assertEquals(List.of(oldest.getId()), ids(nextPage));
+    }
+
+    @Test
+    @DisplayName("Posts that were never fanned out stay visible after their author drops below the threshold")
+    void getTimelinePage_withPostsNotFannedOut_mergesThemOnRead() {
+        User author = saveUser("author");
+        User reader = saveUser("reader");
+        followerRepository.save(new Follower(reader, author));
+
+        Post fannedOut = savePost(author, reader, "fanned out");
+        postRepository.markFannedOut(fannedOut.getId());
+        // Written while the author was above the fan-out threshold, the author has no followers now
+        Post skipped = new Post();
+        skipped.setContent("skipped");
+        skipped.setUser(author);
+        skipped = postRepository.saveAndFlush(skipped);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Post> page = timelineService.getTimelinePage(reader.getId(), null, 10);
+        assertEquals(List.of(skipped.getId(), fannedOut.getId()), ids(page));
+    }
+
+    private User saveUser(String name) {
+        String username = name + "-" + UUID.randomUUID();
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@coinlift.test")
+                .password("password")
+                .role(Role.USER)
+                .followersCount(0)
+                .followingCount(0)
+                .build());
+    }
+
+    private Post savePost(User author, User reader, String content) {
+        Post post = new Post();
+        post.setContent(content);
+        post.setUser(author);
+        Post saved = postRepository.saveAndFlush(post);
+
+        timelineEntryRepository.save(
+                new TimelineEntry(null, reader.getId(), saved.getId(), author.getId(), saved.getCreatedAt()));
+        return saved;
+    }
+
+    private static List<UUID> ids(List<Post> posts) {
+        return posts.stream().map(Post::getId).toList();
+    }
+}